@@ -0,0 +1,98 @@
+package com.docx.generators;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Produces gzip and, when brotli4j is on the classpath, brotli encodings of rendered
+ * documentation so they can be computed once and served as-is. Brotli4j is an optional
+ * dependency with native code, so it is accessed reflectively.
+ */
+public final class ContentCompressor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentCompressor.class);
+
+    public static final String GZIP = "gzip";
+    public static final String BROTLI = "br";
+
+    private static final String BROTLI_LOADER_CLASS = "com.aayushatharva.brotli4j.Brotli4jLoader";
+    private static final String BROTLI_ENCODER_CLASS = "com.aayushatharva.brotli4j.encoder.Encoder";
+
+    private static final Method BROTLI_COMPRESS = findBrotliEncoder();
+
+    private ContentCompressor() {
+    }
+
+    public static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static boolean isBrotliAvailable() {
+        return BROTLI_COMPRESS != null;
+    }
+
+    /**
+     * Returns the brotli encoding of the content, or {@code null} when brotli is not available.
+     */
+    public static byte[] brotli(byte[] content) {
+        if (BROTLI_COMPRESS == null) {
+            return null;
+        }
+        try {
+            return (byte[]) BROTLI_COMPRESS.invoke(null, (Object) content);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Brotli compression failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the encoding for the given content coding token, or {@code null} if the
+     * coding is not supported.
+     */
+    public static byte[] encode(byte[] content, String coding) {
+        if (GZIP.equals(coding)) {
+            return gzip(content);
+        }
+        if (BROTLI.equals(coding)) {
+            return brotli(content);
+        }
+        return null;
+    }
+
+    private static Method findBrotliEncoder() {
+        ClassLoader classLoader = ContentCompressor.class.getClassLoader();
+        if (!ClassUtils.isPresent(BROTLI_LOADER_CLASS, classLoader)) {
+            return null;
+        }
+        try {
+            Class<?> loader = ClassUtils.forName(BROTLI_LOADER_CLASS, classLoader);
+            if (!(Boolean) loader.getMethod("isAvailable").invoke(null)) {
+                logger.debug("Brotli4j is present but its native library could not be loaded");
+                return null;
+            }
+            return ClassUtils.forName(BROTLI_ENCODER_CLASS, classLoader).getMethod("compress", byte[].class);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.debug("Brotli4j is not usable: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package com.docx.generators;
 
 import com.docx.models.ApiDocumentation;
+import com.docx.models.ControllerDoc;
+import com.docx.search.SearchIndex;
 import com.docx.services.ApiDocumentationService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class DocumentationGenerator {
 
     private final HtmlTemplateEngine templateEngine;
     private final ApiDocumentationService apiDocumentationService;
+    private final OpenApiGenerator openApiGenerator = new OpenApiGenerator();
+    private final JsonFactory jsonFactory = new JsonFactory();
 
     public DocumentationGenerator() {
         this.templateEngine = new HtmlTemplateEngine();
@@ -21,19 +33,114 @@ public class DocumentationGenerator {
     }
 
     public String generateIndexHtml(ApiDocumentation apiDocumentation) {
+        return generateIndexHtml(apiDocumentation, new PageOptions());
+    }
+
+    public String generateIndexHtml(ApiDocumentation apiDocumentation, PageOptions options) {
+        return new String(generateIndexHtmlBytes(apiDocumentation, options), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Renders the index page straight to UTF-8 bytes, without an intermediate String.
+     */
+    public byte[] generateIndexHtmlBytes(ApiDocumentation apiDocumentation, PageOptions options) {
         try {
-            // Use the service to convert to template-ready format
-            Map<String, Object> context = apiDocumentationService.convertToTemplateFormat(apiDocumentation);
-            
-            return templateEngine.generate(context);
+            return templateEngine.generateBytes(titleOf(apiDocumentation), pageData(apiDocumentation, options), options);
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate index HTML", e);
         }
     }
 
+    /**
+     * Streams the index page to the output without buffering it. The stream is not closed.
+     */
+    public void writeIndexHtml(ApiDocumentation apiDocumentation, PageOptions options, OutputStream out) throws IOException {
+        templateEngine.write(titleOf(apiDocumentation), pageData(apiDocumentation, options), options, out);
+    }
+
+    /**
+     * Renders one controller as the JSON chunk the page loads on demand in chunked mode.
+     */
+    public byte[] generateControllerJson(ControllerDoc controller) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            apiDocumentationService.writeControllerJson(controller, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Renders the OpenAPI 3 specification as JSON.
+     */
+    public byte[] generateOpenApiJson(ApiDocumentation apiDocumentation) {
+        return openApiGenerator.generate(apiDocumentation);
+    }
+
+    /**
+     * Renders the search index the page uses for sidebar search.
+     */
+    public byte[] generateSearchIndexJson(SearchIndex searchIndex) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            searchIndex.writeJson(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
     public Map<String, String> generateAllDocumentation(ApiDocumentation apiDocumentation) {
+        return generateAllDocumentation(apiDocumentation, new PageOptions());
+    }
+
+    /**
+     * Generates the index page, its assets, the search index and, in chunked mode, one
+     * JSON file per controller, keyed by their path relative to the output directory.
+     */
+    public Map<String, String> generateAllDocumentation(ApiDocumentation apiDocumentation, PageOptions options) {
         Map<String, String> generatedFiles = new HashMap<>();
-        generatedFiles.put("index.html", generateIndexHtml(apiDocumentation));
+        generatedFiles.put("index.html", generateIndexHtml(apiDocumentation, options));
+        if (options.isChunked() && apiDocumentation.getControllers() != null) {
+            for (ControllerDoc controller : apiDocumentation.getControllers()) {
+                generatedFiles.put(options.getChunkBasePath() + apiDocumentationService.getChunkName(controller),
+                        new String(generateControllerJson(controller), StandardCharsets.UTF_8));
+            }
+        }
+        if (options.getSearchIndexPath() != null) {
+            generatedFiles.put(options.getSearchIndexPath(),
+                    new String(generateSearchIndexJson(SearchIndex.build(apiDocumentation)), StandardCharsets.UTF_8));
+        }
+        for (TemplateAsset asset : getAssets()) {
+            generatedFiles.put(PageOptions.DEFAULT_ASSET_BASE_PATH + asset.getName(),
+                    new String(asset.getContent(), StandardCharsets.UTF_8));
+        }
         return generatedFiles;
     }
+
+    private String titleOf(ApiDocumentation apiDocumentation) {
+        return apiDocumentation.getTitle() != null ? apiDocumentation.getTitle() : "API Documentation";
+    }
+
+    private HtmlTemplateEngine.PageData pageData(ApiDocumentation apiDocumentation, PageOptions options) {
+        if (options.isChunked()) {
+            return generator -> apiDocumentationService.writeManifestJson(apiDocumentation, generator);
+        }
+        return generator -> apiDocumentationService.writeTemplateJson(apiDocumentation, generator);
+    }
+
+    /**
+     * Returns a hash of the template, assets and options the page is rendered with.
+     */
+    public String getPageVersion(PageOptions options) {
+        return templateEngine.getPageVersion(options);
+    }
+
+    /**
+     * Returns the content-hashed stylesheet and script referenced by the generated pages.
+     */
+    public List<TemplateAsset> getAssets() {
+        return templateEngine.getAssets();
+    }
 }
@@ -1,38 +1,145 @@
 package com.docx.generators;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.util.HtmlUtils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class HtmlTemplateEngine {
 
     private static final Logger logger = LoggerFactory.getLogger(HtmlTemplateEngine.class);
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TemplateAsset stylesheet = TemplateAsset.hashed("docx", "css", "text/css", getStyles());
+    private final TemplateAsset script = TemplateAsset.hashed("docx", "js", "text/javascript", getJavaScript());
+    private final SegmentedTemplate pageTemplate = SegmentedTemplate.compile(getPageTemplate());
+    private volatile int lastPageSize;
 
     public String generate(Map<String, Object> context) {
-        return buildModernHtmlPage(context);
+        return generate(context, new PageOptions());
     }
 
-    private String buildModernHtmlPage(Map<String, Object> context) {
-        String title = (String) context.getOrDefault("title", "API Documentation");
-        String jsonData = convertContextToJson(context);
+    public String generate(Map<String, Object> context, PageOptions options) {
+        return new String(generateBytes(context, options), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Renders the page as UTF-8 into a buffer sized from the previous render.
+     */
+    public byte[] generateBytes(Map<String, Object> context, PageOptions options) {
+        return generateBytes(titleOf(context), mapData(context), options);
+    }
+
+    public byte[] generateBytes(String title, PageData data, PageOptions options) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(pageTemplate.getStaticLength(), lastPageSize));
+        try {
+            write(title, data, options, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        lastPageSize = out.size();
+        logger.debug("Rendered documentation page: {} bytes", out.size());
+        return out.toByteArray();
+    }
+
+    public void write(Map<String, Object> context, PageOptions options, OutputStream out) throws IOException {
+        write(titleOf(context), mapData(context), options, out);
+    }
+
+    /**
+     * Writes the page to the stream segment by segment, letting {@code data} write the
+     * embedded JSON directly. The stream is not closed.
+     */
+    public void write(String title, PageData data, PageOptions options, OutputStream out) throws IOException {
+        String assetBasePath = HtmlUtils.htmlEscape(options.getAssetBasePath());
+
+        pageTemplate.render(out, (slot, target) -> {
+            switch (slot) {
+                case "title" -> target.write(HtmlUtils.htmlEscape(title).getBytes(StandardCharsets.UTF_8));
+                case "stylesheet" -> target.write((assetBasePath + stylesheet.getName()).getBytes(StandardCharsets.UTF_8));
+                case "script" -> target.write((assetBasePath + script.getName()).getBytes(StandardCharsets.UTF_8));
+                case "jsonData" -> writeJson(data, target);
+                case "config" -> writeJson(generator -> writeConfig(options, generator), target);
+                default -> throw new IllegalStateException("Unknown template slot: " + slot);
+            }
+        });
+    }
+
+    /**
+     * Returns a hash identifying everything besides the documentation that shapes the
+     * rendered page: the page template, the hashed asset names, the Docx version and the
+     * page options. Caches keyed only by the documentation must also include it.
+     */
+    public String getPageVersion(PageOptions options) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String version = HtmlTemplateEngine.class.getPackage().getImplementationVersion();
+            for (String part : new String[]{getPageTemplate(), stylesheet.getName(), script.getName(), version,
+                    options.getAssetBasePath(), String.valueOf(options.isChunked()), options.getChunkBasePath(),
+                    options.getSearchIndexPath()}) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Returns the stylesheet and script the page links to. Their content never changes
+     * at runtime, so they are built once per engine.
+     */
+    public List<TemplateAsset> getAssets() {
+        return List.of(stylesheet, script);
+    }
+
+    private String titleOf(Map<String, Object> context) {
+        return (String) context.getOrDefault("title", "API Documentation");
+    }
+
+    private PageData mapData(Map<String, Object> context) {
+        return generator -> objectMapper.writeValue(generator, context);
+    }
+
+    private void writeConfig(PageOptions options, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeBooleanField("chunked", options.isChunked());
+        generator.writeStringField("chunkBasePath", options.getChunkBasePath());
+        generator.writeStringField("searchIndexPath", options.getSearchIndexPath());
+        generator.writeEndObject();
+    }
+
+    private void writeJson(PageData data, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            data.writeJson(generator);
+        }
+    }
 
-        return String.format(
-                """
+    private String getPageTemplate() {
+        return """
                         <!DOCTYPE html>
                         <html lang="en" class="scroll-smooth">
                         <head>
                             <meta charset="UTF-8">
                             <meta name="viewport" content="width=device-width, initial-scale=1.0">
-                            <title>%s</title>
+                            <title>{{title}}</title>
                             <link href="https://fonts.googleapis.com/css2?family=Inter:wght@400;500;600;700;800&display=swap" rel="stylesheet">
                             <link href="https://fonts.googleapis.com/css2?family=JetBrains+Mono:wght@400;500;600&display=swap" rel="stylesheet">
-                            <style>
-                                %s
-                            </style>
+                            <link href="{{stylesheet}}" rel="stylesheet">
                         </head>
                         <body data-theme="light">
                             <!-- Theme Toggle Button -->
@@ -68,22 +175,13 @@ public class HtmlTemplateEngine {
                             </div>
 
                             <script>
-                                const jsonData = %s;
-                                %s
+                                const jsonData = {{jsonData}};
+                                const docxConfig = {{config}};
                             </script>
+                            <script src="{{script}}"></script>
                         </body>
                         </html>
-                        """,
-                title, getStyles(), jsonData, getJavaScript());
-    }
-
-    private String convertContextToJson(Map<String, Object> context) {
-        try {
-            return objectMapper.writeValueAsString(context);
-        } catch (Exception e) {
-            logger.error("Error converting context to JSON", e);
-            return "{}";
-        }
+                        """;
     }
 
     private String getStyles() {
@@ -323,6 +421,10 @@ public class HtmlTemplateEngine {
                     text-transform: uppercase;
                     letter-spacing: 0.5px;
                 }
+                #sidebar-nav.searching .nav-section:not(.search-match),
+                #sidebar-nav.searching .nav-list li:not(.search-match) {
+                    display: none;
+                }
                 .nav-list {
                     list-style: none;
                     margin: 0;
@@ -860,6 +962,7 @@ public class HtmlTemplateEngine {
     private String getJavaScript() {
         return """
                             let currentEndpointId = null;
+                            const sidebarLinks = {};
                             let currentTheme = localStorage.getItem('theme') || 'light';
 
                             // Theme Management
@@ -910,37 +1013,13 @@ public class HtmlTemplateEngine {
                                         link.href = `#${endpointId}`;
                                         link.textContent = endpoint.name;
                                         link.className = 'sidebar-link';
+                                        sidebarLinks[endpointId] = link;
                                         listItem.appendChild(link);
                                         endpointList.appendChild(listItem);
 
-                                        const methodColor = getMethodClass(endpoint.httpMethod);
-
-                                        const endpointCard = document.createElement('div');
-                                        endpointCard.id = `endpoint-${endpointId}`;
-                                        endpointCard.className = 'endpoint-card';
-
-                                        let parametersHtml = '';
-                                        if (endpoint.pathVariables) parametersHtml += `<div><h4>Path Parameters</h4>${createParametersTable(endpoint.pathVariables)}</div>`;
-                                        if (endpoint.queryParameters) parametersHtml += `<div><h4>Query Parameters</h4>${createParametersTable(endpoint.queryParameters)}</div>`;
-                                        if (endpoint.requestBody) parametersHtml += `<div><h4>Request Body</h4><div class="code-block"><pre><code>${endpoint.requestBody.example || ''}</code></pre></div></div>`;
-                                        let responsesHtml = `<div><h4>Responses</h4>${createResponsesTable(endpoint.responses)}</div>`;
-
-                                        endpointCard.innerHTML = `
-                                            <div class="endpoint-card-header">
-                                                <h3>${endpoint.name}</h3>
-                                                <div class="endpoint-url-container">
-                                                    <span class="http-method ${methodColor}">${endpoint.httpMethod}</span>
-                                                    <span class="endpoint-url">${endpoint.url}</span>
-                                                </div>
-                                            </div>
-                                            <div class="endpoint-card-body">
-                                                <p class="description">${endpoint.description || ''}</p>
-                                                <div class="details-container">
-                                                   ${parametersHtml}
-                                                   ${responsesHtml}
-                                                </div>
-                                            </div>`;
-                                        apiContent.appendChild(endpointCard);
+                                        if (!docxConfig.chunked) {
+                                            apiContent.appendChild(createEndpointCard(controller, endpoint, index));
+                                        }
                                     });
                                     controllerSection.appendChild(endpointList);
                                     sidebarNav.appendChild(controllerSection);
@@ -950,6 +1029,64 @@ public class HtmlTemplateEngine {
                                 initSearch();
                             });
 
+                            function createEndpointCard(controller, endpoint, index) {
+                                const endpointId = `${controller.name}-${endpoint.name}-${index}`;
+                                const methodColor = getMethodClass(endpoint.httpMethod);
+
+                                const endpointCard = document.createElement('div');
+                                endpointCard.id = `endpoint-${endpointId}`;
+                                endpointCard.className = 'endpoint-card';
+
+                                let parametersHtml = '';
+                                if (endpoint.pathVariables) parametersHtml += `<div><h4>Path Parameters</h4>${createParametersTable(endpoint.pathVariables)}</div>`;
+                                if (endpoint.queryParameters) parametersHtml += `<div><h4>Query Parameters</h4>${createParametersTable(endpoint.queryParameters)}</div>`;
+                                if (endpoint.requestBody) parametersHtml += `<div><h4>Request Body</h4><div class="code-block"><pre><code>${endpoint.requestBody.example || ''}</code></pre></div></div>`;
+                                let responsesHtml = `<div><h4>Responses</h4>${createResponsesTable(endpoint.responses)}</div>`;
+
+                                endpointCard.innerHTML = `
+                                    <div class="endpoint-card-header">
+                                        <h3>${endpoint.name}</h3>
+                                        <div class="endpoint-url-container">
+                                            <span class="http-method ${methodColor}">${endpoint.httpMethod}</span>
+                                            <span class="endpoint-url">${endpoint.url}</span>
+                                        </div>
+                                    </div>
+                                    <div class="endpoint-card-body">
+                                        <p class="description">${endpoint.description || ''}</p>
+                                        <div class="details-container">
+                                           ${parametersHtml}
+                                           ${responsesHtml}
+                                        </div>
+                                    </div>`;
+                                return endpointCard;
+                            }
+
+                            // In chunked mode the page only embeds a manifest; full controllers are fetched on navigation
+                            const loadedControllers = {};
+                            function loadController(controllerName) {
+                                const controller = jsonData.controllers.find(c => c.name === controllerName);
+                                if (!docxConfig.chunked || !controller) return Promise.resolve();
+                                if (!loadedControllers[controllerName]) {
+                                    loadedControllers[controllerName] = fetch(docxConfig.chunkBasePath + encodeURIComponent(controller.chunk))
+                                        .then(response => {
+                                            if (!response.ok) throw new Error(`Failed to load ${controller.chunk}: ${response.status}`);
+                                            return response.json();
+                                        })
+                                        .then(fullController => {
+                                            controller.endpoints = fullController.endpoints || [];
+                                            const apiContent = document.getElementById('api-content');
+                                            controller.endpoints.forEach((endpoint, index) => {
+                                                apiContent.appendChild(createEndpointCard(controller, endpoint, index));
+                                            });
+                                        })
+                                        .catch(error => {
+                                            delete loadedControllers[controllerName];
+                                            console.error(error);
+                                        });
+                                }
+                                return loadedControllers[controllerName];
+                            }
+
                             function setupNavigation() {
                                 window.addEventListener('hashchange', renderPage);
                                 renderPage();
@@ -958,7 +1095,16 @@ public class HtmlTemplateEngine {
                             function renderPage() {
                                 const hash = window.location.hash.substring(1);
                                 currentEndpointId = hash;
+                                if (hash && docxConfig.chunked) {
+                                    loadController(hash.split('-')[0]).then(() => {
+                                        if (currentEndpointId === hash) showPage(hash);
+                                    });
+                                    return;
+                                }
+                                showPage(hash);
+                            }
 
+                            function showPage(hash) {
                                 document.querySelectorAll('.endpoint-card').forEach(c => c.classList.remove('active'));
                                 const introSection = document.getElementById('intro-section');
 
@@ -1133,29 +1279,86 @@ public class HtmlTemplateEngine {
                                     }
                                 });
 
+                                searchInput.addEventListener('focus', loadSearchIndex, { once: true });
                                 searchInput.addEventListener('input', function(e) {
-                                    const query = e.target.value.toLowerCase().trim();
-                                    const navSections = document.querySelectorAll('.nav-section');
-
-                                    navSections.forEach(section => {
-                                        const navItems = section.querySelectorAll('.sidebar-link');
-                                        let hasVisibleItems = false;
-
-                                        navItems.forEach(link => {
-                                            const text = link.textContent.toLowerCase();
-                                            if (text.includes(query)) {
-                                                link.parentElement.style.display = 'block';
-                                                hasVisibleItems = true;
-                                            } else {
-                                                link.parentElement.style.display = 'none';
-                                            }
-                                        });
-
-                                        section.style.display = hasVisibleItems ? 'block' : 'none';
+                                    const query = e.target.value;
+                                    loadSearchIndex().then(index => {
+                                        if (searchInput.value === query) {
+                                            showSearchMatches(query.trim() ? findEndpoints(index, query) : null);
+                                        }
                                     });
                                 });
                             }
 
+                            let searchIndexRequest = null;
+                            let searchMatches = [];
+
+                            // The index is fetched once, on first use; without it search falls back to link text.
+                            function loadSearchIndex() {
+                                if (!searchIndexRequest) {
+                                    searchIndexRequest = !docxConfig.searchIndexPath ? Promise.resolve(null)
+                                        : fetch(docxConfig.searchIndexPath)
+                                            .then(response => response.ok ? response.json() : null)
+                                            .catch(() => null);
+                                }
+                                return searchIndexRequest;
+                            }
+
+                            function findEndpoints(index, query) {
+                                if (!index) {
+                                    const text = query.toLowerCase().trim();
+                                    return Object.keys(sidebarLinks)
+                                        .filter(id => sidebarLinks[id].textContent.toLowerCase().includes(text));
+                                }
+                                const terms = query.toLowerCase().split(/[^\\p{L}\\p{N}]+/u).filter(term => term);
+                                let matches = null;
+                                for (const term of terms) {
+                                    const termMatches = findByPrefix(index, term);
+                                    matches = matches === null ? [...termMatches] : matches.filter(id => termMatches.has(id));
+                                    if (matches.length === 0) break;
+                                }
+                                return (matches || []).map(id => index.documents[id]);
+                            }
+
+                            // Terms are sorted, so every term with this prefix sits in one range found by binary search.
+                            function findByPrefix(index, prefix) {
+                                const terms = index.terms;
+                                let low = 0;
+                                let high = terms.length;
+                                while (low < high) {
+                                    const mid = (low + high) >>> 1;
+                                    if (terms[mid] < prefix) low = mid + 1; else high = mid;
+                                }
+                                const matches = new Set();
+                                for (let i = low; i < terms.length && terms[i].startsWith(prefix); i++) {
+                                    index.postings[i].forEach(id => matches.add(id));
+                                }
+                                return matches;
+                            }
+
+                            // Only the previous and current matches are touched; CSS hides everything else.
+                            function showSearchMatches(endpointIds) {
+                                const sidebarNav = document.getElementById('sidebar-nav');
+                                searchMatches.forEach(element => element.classList.remove('search-match'));
+                                searchMatches = [];
+                                if (endpointIds === null) {
+                                    sidebarNav.classList.remove('searching');
+                                    return;
+                                }
+                                endpointIds.forEach(endpointId => {
+                                    const link = sidebarLinks[endpointId];
+                                    if (!link) return;
+                                    const section = link.closest('.nav-section');
+                                    link.parentElement.classList.add('search-match');
+                                    searchMatches.push(link.parentElement);
+                                    if (!section.classList.contains('search-match')) {
+                                        section.classList.add('search-match');
+                                        searchMatches.push(section);
+                                    }
+                                });
+                                sidebarNav.classList.add('searching');
+                            }
+
                             function setupLanguageTabsForPanel() {
                                 const tabs = document.querySelectorAll('#utility-panel .lang-tab');
                                 tabs.forEach(tab => {
@@ -1593,4 +1796,12 @@ public class HtmlTemplateEngine {
                             }
                             """;
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the JSON data embedded in the page.
+     */
+    @FunctionalInterface
+    public interface PageData {
+        void writeJson(JsonGenerator generator) throws IOException;
+    }
+}
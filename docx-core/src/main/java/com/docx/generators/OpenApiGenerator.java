@@ -0,0 +1,663 @@
+package com.docx.generators;
+
+import com.docx.models.*;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes an OpenAPI 3.0 specification of the documentation straight to a
+ * {@link JsonGenerator}. The output format follows the factory, so a YAML factory
+ * produces {@code openapi.yaml} from the same code.
+ */
+public class OpenApiGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenApiGenerator.class);
+
+    public static final String OPENAPI_VERSION = "3.0.3";
+
+    // Matches variables of paths normalized by pathOf, which no longer carry a regex
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{([^}]+)}");
+    private static final Set<String> WRAPPER_TYPES = Set.of(
+            "ResponseEntity", "HttpEntity", "Optional", "CompletableFuture", "CompletionStage", "Future",
+            "Callable", "DeferredResult", "WebAsyncTask", "Mono");
+    private static final Set<String> COLLECTION_TYPES = Set.of(
+            "List", "Set", "Collection", "Iterable", "ArrayList", "LinkedList", "HashSet", "LinkedHashSet",
+            "TreeSet", "SortedSet", "Flux", "Stream");
+    private static final Set<String> MAP_TYPES = Set.of(
+            "Map", "HashMap", "LinkedHashMap", "TreeMap", "SortedMap", "ConcurrentMap", "ConcurrentHashMap");
+    private static final Set<String> EMPTY_TYPES = Set.of("void", "Void");
+    private static final Map<String, String[]> SIMPLE_TYPES = new HashMap<>();
+
+    static {
+        SIMPLE_TYPES.put("String", new String[]{"string", null});
+        SIMPLE_TYPES.put("CharSequence", new String[]{"string", null});
+        SIMPLE_TYPES.put("char", new String[]{"string", null});
+        SIMPLE_TYPES.put("Character", new String[]{"string", null});
+        SIMPLE_TYPES.put("byte", new String[]{"integer", "int32"});
+        SIMPLE_TYPES.put("Byte", new String[]{"integer", "int32"});
+        SIMPLE_TYPES.put("short", new String[]{"integer", "int32"});
+        SIMPLE_TYPES.put("Short", new String[]{"integer", "int32"});
+        SIMPLE_TYPES.put("int", new String[]{"integer", "int32"});
+        SIMPLE_TYPES.put("Integer", new String[]{"integer", "int32"});
+        SIMPLE_TYPES.put("long", new String[]{"integer", "int64"});
+        SIMPLE_TYPES.put("Long", new String[]{"integer", "int64"});
+        SIMPLE_TYPES.put("BigInteger", new String[]{"integer", null});
+        SIMPLE_TYPES.put("float", new String[]{"number", "float"});
+        SIMPLE_TYPES.put("Float", new String[]{"number", "float"});
+        SIMPLE_TYPES.put("double", new String[]{"number", "double"});
+        SIMPLE_TYPES.put("Double", new String[]{"number", "double"});
+        SIMPLE_TYPES.put("BigDecimal", new String[]{"number", null});
+        SIMPLE_TYPES.put("Number", new String[]{"number", null});
+        SIMPLE_TYPES.put("boolean", new String[]{"boolean", null});
+        SIMPLE_TYPES.put("Boolean", new String[]{"boolean", null});
+        SIMPLE_TYPES.put("LocalDate", new String[]{"string", "date"});
+        SIMPLE_TYPES.put("LocalDateTime", new String[]{"string", "date-time"});
+        SIMPLE_TYPES.put("OffsetDateTime", new String[]{"string", "date-time"});
+        SIMPLE_TYPES.put("ZonedDateTime", new String[]{"string", "date-time"});
+        SIMPLE_TYPES.put("Instant", new String[]{"string", "date-time"});
+        SIMPLE_TYPES.put("Date", new String[]{"string", "date-time"});
+        SIMPLE_TYPES.put("LocalTime", new String[]{"string", "time"});
+        SIMPLE_TYPES.put("Duration", new String[]{"string", "duration"});
+        SIMPLE_TYPES.put("UUID", new String[]{"string", "uuid"});
+        SIMPLE_TYPES.put("URI", new String[]{"string", "uri"});
+        SIMPLE_TYPES.put("URL", new String[]{"string", "uri"});
+        SIMPLE_TYPES.put("MultipartFile", new String[]{"string", "binary"});
+        SIMPLE_TYPES.put("Resource", new String[]{"string", "binary"});
+        SIMPLE_TYPES.put("byte[]", new String[]{"string", "byte"});
+    }
+
+    private final JsonFactory jsonFactory;
+
+    public OpenApiGenerator() {
+        this(new JsonFactory());
+    }
+
+    /**
+     * Creates a generator writing in the format of {@code jsonFactory}, e.g. a
+     * {@code YAMLFactory} for YAML output.
+     */
+    public OpenApiGenerator(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public byte[] generate(ApiDocumentation apiDoc) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(apiDoc, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Streams the specification to the output. The stream is not closed.
+     */
+    public void write(ApiDocumentation apiDoc, OutputStream out) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            write(apiDoc, generator);
+        }
+    }
+
+    public void write(ApiDocumentation apiDoc, JsonGenerator generator) throws IOException {
+        Map<String, ModelDoc> models = new LinkedHashMap<>();
+        if (apiDoc.getModels() != null) {
+            apiDoc.getModels().forEach(model -> models.putIfAbsent(model.getName(), model));
+        }
+
+        generator.writeStartObject();
+        generator.writeStringField("openapi", OPENAPI_VERSION);
+        writeInfo(apiDoc, generator);
+        if (apiDoc.getBaseUrl() != null && !apiDoc.getBaseUrl().isEmpty()) {
+            generator.writeArrayFieldStart("servers");
+            generator.writeStartObject();
+            generator.writeStringField("url", apiDoc.getBaseUrl());
+            generator.writeEndObject();
+            generator.writeEndArray();
+        }
+        writeTags(apiDoc, generator);
+        writePaths(apiDoc, models, generator);
+        generator.writeObjectFieldStart("components");
+        generator.writeObjectFieldStart("schemas");
+        for (ModelDoc model : models.values()) {
+            generator.writeFieldName(model.getName());
+            writeModelSchema(model, models, generator);
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeInfo(ApiDocumentation apiDoc, JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart("info");
+        generator.writeStringField("title", apiDoc.getTitle() != null ? apiDoc.getTitle() : "API Documentation");
+        generator.writeStringField("version", apiDoc.getVersion() != null ? apiDoc.getVersion() : "1.0.0");
+        writeOptional("description", apiDoc.getDescription(), generator);
+        generator.writeEndObject();
+    }
+
+    private void writeTags(ApiDocumentation apiDoc, JsonGenerator generator) throws IOException {
+        generator.writeArrayFieldStart("tags");
+        Set<String> written = new HashSet<>();
+        for (ControllerDoc controller : controllers(apiDoc)) {
+            if (written.add(tagOf(controller))) {
+                generator.writeStartObject();
+                generator.writeStringField("name", tagOf(controller));
+                writeOptional("description", controller.getDescription(), generator);
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private void writePaths(ApiDocumentation apiDoc, Map<String, ModelDoc> models, JsonGenerator generator) throws IOException {
+        // OpenAPI groups operations by path, while the documentation groups them by controller
+        Map<String, Map<String, Operation>> paths = new TreeMap<>();
+        Set<String> operationIds = new HashSet<>();
+        for (ControllerDoc controller : controllers(apiDoc)) {
+            if (controller.getEndpoints() == null) {
+                continue;
+            }
+            for (EndpointDoc endpoint : controller.getEndpoints()) {
+                String method = endpoint.getHttpMethod() != null ? endpoint.getHttpMethod().toLowerCase(Locale.ROOT) : "get";
+                Map<String, Operation> operations = paths.computeIfAbsent(pathOf(endpoint.getUrl()), k -> new LinkedHashMap<>());
+                Operation existing = operations.get(method);
+                if (existing == null) {
+                    operations.put(method, new Operation(controller, endpoint, uniqueOperationId(endpoint.getName(), operationIds)));
+                } else {
+                    // e.g. handlers told apart by params, headers or consumes, which OpenAPI cannot express
+                    logger.warn("{}#{} and {}#{} both map to {} {}; only the first is written to the OpenAPI spec",
+                            existing.controller.getClassName(), existing.endpoint.getName(),
+                            controller.getClassName(), endpoint.getName(),
+                            method.toUpperCase(Locale.ROOT), pathOf(endpoint.getUrl()));
+                }
+            }
+        }
+
+        generator.writeObjectFieldStart("paths");
+        for (Map.Entry<String, Map<String, Operation>> path : paths.entrySet()) {
+            generator.writeObjectFieldStart(path.getKey());
+            for (Map.Entry<String, Operation> operation : path.getValue().entrySet()) {
+                generator.writeFieldName(operation.getKey());
+                writeOperation(path.getKey(), operation.getValue(), models, generator);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeOperation(String path, Operation operation, Map<String, ModelDoc> models,
+                                JsonGenerator generator) throws IOException {
+        EndpointDoc endpoint = operation.endpoint;
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("tags");
+        generator.writeString(tagOf(operation.controller));
+        generator.writeEndArray();
+        generator.writeStringField("operationId", operation.operationId);
+        writeOptional("summary", endpoint.getDescription(), generator);
+        writeOptional("description", joinDescriptions(endpoint.getApiDescription(), endpoint.getApiNote()), generator);
+        if (endpoint.isDeprecated()) {
+            generator.writeBooleanField("deprecated", true);
+        }
+
+        writeParameters(path, endpoint, models, generator);
+
+        ParameterDoc requestBody = endpoint.getRequestBody();
+        if (requestBody != null) {
+            generator.writeObjectFieldStart("requestBody");
+            writeOptional("description", requestBody.getDescription(), generator);
+            generator.writeBooleanField("required", requestBody.isRequired());
+            writeContent("application/json", requestBody.getType(), models, generator);
+            generator.writeEndObject();
+        }
+
+        writeResponses(endpoint, models, generator);
+        generator.writeEndObject();
+    }
+
+    private void writeParameters(String path, EndpointDoc endpoint, Map<String, ModelDoc> models,
+                                 JsonGenerator generator) throws IOException {
+        generator.writeArrayFieldStart("parameters");
+        Set<String> pathVariables = new LinkedHashSet<>();
+        Matcher matcher = PATH_VARIABLE.matcher(path);
+        while (matcher.find()) {
+            pathVariables.add(matcher.group(1));
+        }
+        if (endpoint.getPathVariables() != null) {
+            for (ParameterDoc parameter : endpoint.getPathVariables()) {
+                if (pathVariables.remove(parameter.getName())) {
+                    writeParameter(parameter, "path", true, models, generator);
+                }
+            }
+        }
+        // Every template variable must be declared, even if the handler does not bind it by name
+        for (String pathVariable : pathVariables) {
+            writeParameter(new ParameterDoc(pathVariable, "String", null), "path", true, models, generator);
+        }
+        if (endpoint.getQueryParameters() != null) {
+            for (ParameterDoc parameter : endpoint.getQueryParameters()) {
+                writeParameter(parameter, "query", parameter.isRequired(), models, generator);
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeParameter(ParameterDoc parameter, String in, boolean required, Map<String, ModelDoc> models,
+                                JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", parameter.getName());
+        generator.writeStringField("in", in);
+        writeOptional("description", parameter.getDescription(), generator);
+        generator.writeBooleanField("required", required);
+        generator.writeFieldName("schema");
+        TypeRef type = TypeRef.parse(parameter.getType());
+        boolean decorated = hasText(parameter.getDefaultValue()) || hasItems(parameter.getConstraints());
+        writeSchema(type, models, generator, !decorated ? null : schema -> {
+            writeDefault(type, parameter.getDefaultValue(), schema);
+            writeConstraints(parameter.getConstraints(), type, schema);
+        });
+        writeOptional("example", parameter.getExample(), generator);
+        generator.writeEndObject();
+    }
+
+    private void writeResponses(EndpointDoc endpoint, Map<String, ModelDoc> models, JsonGenerator generator) throws IOException {
+        Map<String, ResponseDoc> responses = new TreeMap<>();
+        if (endpoint.getResponses() != null) {
+            for (ResponseDoc response : endpoint.getResponses()) {
+                responses.putIfAbsent(String.valueOf(response.getStatusCode()), response);
+            }
+        }
+        ResponseDoc responseBody = endpoint.getResponseBody();
+        if (responses.keySet().stream().noneMatch(code -> code.startsWith("2"))) {
+            responses.put("200", responseBody != null ? responseBody : new ResponseDoc(200, "Success"));
+        }
+
+        generator.writeObjectFieldStart("responses");
+        for (Map.Entry<String, ResponseDoc> entry : responses.entrySet()) {
+            ResponseDoc response = entry.getValue();
+            generator.writeObjectFieldStart(entry.getKey());
+            generator.writeStringField("description", response.getDescription() != null ? response.getDescription() : "");
+            // Success responses carry the handler's return type unless they document their own
+            String type = response.getType();
+            if (type == null && entry.getKey().startsWith("2") && !"204".equals(entry.getKey()) && responseBody != null) {
+                type = responseBody.getType();
+            }
+            if (type != null && !TypeRef.parse(type).unwrap().isEmpty()) {
+                writeContent(response.getMediaType() != null ? response.getMediaType() : "application/json", type, models, generator);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeContent(String mediaType, String type, Map<String, ModelDoc> models, JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart("content");
+        generator.writeObjectFieldStart(mediaType);
+        generator.writeFieldName("schema");
+        writeSchema(TypeRef.parse(type), models, generator, null);
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    private void writeModelSchema(ModelDoc model, Map<String, ModelDoc> models, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "object");
+        writeOptional("description", model.getDescription(), generator);
+        List<String> required = new ArrayList<>();
+        generator.writeObjectFieldStart("properties");
+        if (model.getFields() != null) {
+            for (FieldDoc field : model.getFields()) {
+                if (field.isRequired()) {
+                    required.add(field.getName());
+                }
+                generator.writeFieldName(field.getName());
+                TypeRef type = TypeRef.parse(field.getType());
+                boolean decorated = hasText(field.getDescription()) || hasText(field.getDefaultValue())
+                        || hasText(field.getExample()) || hasItems(field.getConstraints());
+                writeSchema(type, models, generator, !decorated ? null : schema -> {
+                    writeOptional("description", field.getDescription(), schema);
+                    writeDefault(type, field.getDefaultValue(), schema);
+                    writeOptional("example", field.getExample(), schema);
+                    writeConstraints(field.getConstraints(), type, schema);
+                });
+            }
+        }
+        generator.writeEndObject();
+        if (!required.isEmpty()) {
+            generator.writeArrayFieldStart("required");
+            for (String name : required) {
+                generator.writeString(name);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the schema of a type. {@code extra} adds keywords to the schema object; a
+     * {@code $ref} cannot have siblings in OpenAPI 3.0, so it is wrapped in {@code allOf}
+     * when there are any.
+     */
+    private void writeSchema(TypeRef type, Map<String, ModelDoc> models, JsonGenerator generator,
+                             SchemaWriter extra) throws IOException {
+        type = type.unwrap();
+        generator.writeStartObject();
+        String[] simpleType = SIMPLE_TYPES.get(type.name);
+        if (type.isEmpty()) {
+            // No body, e.g. ResponseEntity<Void>; an empty schema accepts anything
+        } else if (simpleType != null) {
+            generator.writeStringField("type", simpleType[0]);
+            writeOptional("format", simpleType[1], generator);
+        } else if (type.isArray() || COLLECTION_TYPES.contains(type.name)) {
+            generator.writeStringField("type", "array");
+            if ("Set".equals(type.name) || type.name.endsWith("Set")) {
+                generator.writeBooleanField("uniqueItems", true);
+            }
+            generator.writeFieldName("items");
+            writeSchema(type.elementType(), models, generator, null);
+        } else if (MAP_TYPES.contains(type.name)) {
+            generator.writeStringField("type", "object");
+            generator.writeFieldName("additionalProperties");
+            if (type.arguments.size() == 2) {
+                writeSchema(type.arguments.get(1), models, generator, null);
+            } else {
+                generator.writeStartObject();
+                generator.writeEndObject();
+            }
+        } else if (models.containsKey(type.name)) {
+            if (extra == null) {
+                generator.writeStringField("$ref", "#/components/schemas/" + type.name);
+            } else {
+                generator.writeArrayFieldStart("allOf");
+                generator.writeStartObject();
+                generator.writeStringField("$ref", "#/components/schemas/" + type.name);
+                generator.writeEndObject();
+                generator.writeEndArray();
+            }
+        } else {
+            generator.writeStringField("type", "object");
+        }
+        if (extra != null) {
+            extra.write(generator);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeConstraints(List<ValidationConstraint> constraints, TypeRef type, JsonGenerator generator) throws IOException {
+        if (constraints == null) {
+            return;
+        }
+        boolean array = type.unwrap().isArray() || COLLECTION_TYPES.contains(type.unwrap().name);
+        for (ValidationConstraint constraint : constraints) {
+            Map<String, Object> attributes = constraint.getAttributes() != null ? constraint.getAttributes() : Map.of();
+            switch (constraint.getName()) {
+                case "Size" -> {
+                    writeLimit(array ? "minItems" : "minLength", attributes.get("min"), 0, generator);
+                    writeLimit(array ? "maxItems" : "maxLength", attributes.get("max"), Integer.MAX_VALUE, generator);
+                }
+                case "NotBlank", "NotEmpty" -> generator.writeNumberField(array ? "minItems" : "minLength", 1);
+                case "Min", "DecimalMin" -> {
+                    writeNumber("minimum", attributes.get("value"), generator);
+                    if (Boolean.FALSE.equals(attributes.get("inclusive"))) {
+                        generator.writeBooleanField("exclusiveMinimum", true);
+                    }
+                }
+                case "Max", "DecimalMax" -> {
+                    writeNumber("maximum", attributes.get("value"), generator);
+                    if (Boolean.FALSE.equals(attributes.get("inclusive"))) {
+                        generator.writeBooleanField("exclusiveMaximum", true);
+                    }
+                }
+                case "Positive", "PositiveOrZero" -> {
+                    generator.writeNumberField("minimum", 0);
+                    if ("Positive".equals(constraint.getName())) {
+                        generator.writeBooleanField("exclusiveMinimum", true);
+                    }
+                }
+                case "Negative", "NegativeOrZero" -> {
+                    generator.writeNumberField("maximum", 0);
+                    if ("Negative".equals(constraint.getName())) {
+                        generator.writeBooleanField("exclusiveMaximum", true);
+                    }
+                }
+                case "Pattern" -> writeOptional("pattern", (String) attributes.get("regexp"), generator);
+                case "Email" -> generator.writeStringField("format", "email");
+                default -> {
+                    // Other constraints have no schema keyword
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a default value as the JSON type of its schema, falling back to a string.
+     */
+    private void writeDefault(TypeRef type, String value, JsonGenerator generator) throws IOException {
+        if (!hasText(value)) {
+            return;
+        }
+        String[] simpleType = SIMPLE_TYPES.get(type.unwrap().name);
+        try {
+            if (simpleType != null && "integer".equals(simpleType[0])) {
+                generator.writeNumberField("default", new java.math.BigInteger(value.trim()));
+                return;
+            }
+            if (simpleType != null && "number".equals(simpleType[0])) {
+                generator.writeNumberField("default", new java.math.BigDecimal(value.trim()));
+                return;
+            }
+        } catch (NumberFormatException e) {
+            // Not a number after all, written as a string
+        }
+        if (simpleType != null && "boolean".equals(simpleType[0])
+                && ("true".equalsIgnoreCase(value.trim()) || "false".equalsIgnoreCase(value.trim()))) {
+            generator.writeBooleanField("default", Boolean.parseBoolean(value.trim()));
+            return;
+        }
+        generator.writeStringField("default", value);
+    }
+
+    private void writeLimit(String field, Object value, int unbounded, JsonGenerator generator) throws IOException {
+        if (value instanceof Integer limit && limit != unbounded) {
+            generator.writeNumberField(field, limit);
+        }
+    }
+
+    private void writeNumber(String field, Object value, JsonGenerator generator) throws IOException {
+        if (value instanceof Number number) {
+            generator.writeNumberField(field, number.longValue());
+        } else if (value instanceof String decimal) {
+            try {
+                generator.writeNumberField(field, new java.math.BigDecimal(decimal));
+            } catch (NumberFormatException e) {
+                // Not a number, leave the bound out
+            }
+        }
+    }
+
+    private void writeOptional(String field, String value, JsonGenerator generator) throws IOException {
+        if (hasText(value)) {
+            generator.writeStringField(field, value);
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    private static boolean hasItems(List<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private static List<ControllerDoc> controllers(ApiDocumentation apiDoc) {
+        return apiDoc.getControllers() != null ? apiDoc.getControllers() : List.of();
+    }
+
+    private static String tagOf(ControllerDoc controller) {
+        return controller.getName().replace("Controller", "");
+    }
+
+    private static String joinDescriptions(String first, String second) {
+        if (first == null || first.isEmpty()) {
+            return second;
+        }
+        return second == null || second.isEmpty() ? first : first + "\n\n" + second;
+    }
+
+    /**
+     * Normalizes a Spring path pattern to an OpenAPI path: a leading slash and no regex
+     * in template variables.
+     */
+    static String pathOf(String url) {
+        String path = url == null || url.isEmpty() ? "/" : url;
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+        StringBuilder normalized = new StringBuilder(path.length());
+        int position = 0;
+        int open;
+        while ((open = path.indexOf('{', position)) >= 0) {
+            int close = closingBrace(path, open);
+            if (close < 0) {
+                break;
+            }
+            String variable = path.substring(open + 1, close);
+            int colon = variable.indexOf(':');
+            normalized.append(path, position, open).append('{')
+                    .append(colon < 0 ? variable : variable.substring(0, colon)).append('}');
+            position = close + 1;
+        }
+        return normalized.append(path, position, path.length()).toString();
+    }
+
+    /**
+     * Returns the index of the brace closing the template variable opened at {@code open},
+     * skipping braces nested in its regex, e.g. {@code {id:\d{3}}}, or -1 if unbalanced.
+     */
+    private static int closingBrace(String path, int open) {
+        int depth = 0;
+        for (int i = open; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String uniqueOperationId(String name, Set<String> operationIds) {
+        String operationId = name;
+        for (int suffix = 1; !operationIds.add(operationId); suffix++) {
+            operationId = name + "_" + suffix;
+        }
+        return operationId;
+    }
+
+    @FunctionalInterface
+    private interface SchemaWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private static final class Operation {
+
+        private final ControllerDoc controller;
+        private final EndpointDoc endpoint;
+        private final String operationId;
+
+        private Operation(ControllerDoc controller, EndpointDoc endpoint, String operationId) {
+            this.controller = controller;
+            this.endpoint = endpoint;
+            this.operationId = operationId;
+        }
+    }
+
+    /**
+     * A type as described by the annotation processor, e.g. {@code ResponseEntity<List<Pet>>}.
+     */
+    private static final class TypeRef {
+
+        private static final TypeRef EMPTY = new TypeRef("void", List.of());
+
+        private final String name;
+        private final List<TypeRef> arguments;
+
+        private TypeRef(String name, List<TypeRef> arguments) {
+            this.name = name;
+            this.arguments = arguments;
+        }
+
+        static TypeRef parse(String description) {
+            if (description == null || description.isBlank()) {
+                return EMPTY;
+            }
+            int[] position = {0};
+            return parse(description.replace(" ", ""), position);
+        }
+
+        private static TypeRef parse(String description, int[] position) {
+            int start = position[0];
+            while (position[0] < description.length() && "<>,".indexOf(description.charAt(position[0])) < 0) {
+                position[0]++;
+            }
+            String name = description.substring(start, position[0]);
+            List<TypeRef> arguments = new ArrayList<>();
+            if (position[0] < description.length() && description.charAt(position[0]) == '<') {
+                do {
+                    position[0]++;
+                    arguments.add(parse(description, position));
+                } while (position[0] < description.length() && description.charAt(position[0]) == ',');
+                position[0]++;
+            }
+            // Array suffixes following the type arguments, e.g. List<String>[]
+            while (description.startsWith("[]", position[0])) {
+                name += "[]";
+                position[0] += 2;
+            }
+            if (name.startsWith("?extends")) {
+                name = name.substring("?extends".length());
+            }
+            return new TypeRef(name, arguments);
+        }
+
+        /**
+         * Strips wrappers that do not change the body, such as {@code ResponseEntity}.
+         */
+        TypeRef unwrap() {
+            TypeRef type = this;
+            while (WRAPPER_TYPES.contains(type.name)) {
+                type = type.arguments.isEmpty() ? EMPTY : type.arguments.get(0);
+            }
+            return type;
+        }
+
+        boolean isEmpty() {
+            return EMPTY_TYPES.contains(name) || "?".equals(name);
+        }
+
+        boolean isArray() {
+            return name.endsWith("[]") && !"byte[]".equals(name);
+        }
+
+        TypeRef elementType() {
+            if (isArray()) {
+                return new TypeRef(name.substring(0, name.length() - 2), arguments);
+            }
+            return arguments.isEmpty() ? new TypeRef("Object", List.of()) : arguments.get(0);
+        }
+    }
+}
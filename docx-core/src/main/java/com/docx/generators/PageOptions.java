@@ -0,0 +1,67 @@
+package com.docx.generators;
+
+/**
+ * Options controlling how the documentation page links to its surroundings.
+ */
+public class PageOptions {
+
+    public static final String DEFAULT_ASSET_BASE_PATH = "assets/";
+    public static final String DEFAULT_CHUNK_BASE_PATH = "api/controllers/";
+    public static final String DEFAULT_SEARCH_INDEX_PATH = "api/search-index.json";
+
+    private String assetBasePath = DEFAULT_ASSET_BASE_PATH;
+    private boolean chunked;
+    private String chunkBasePath = DEFAULT_CHUNK_BASE_PATH;
+    private String searchIndexPath = DEFAULT_SEARCH_INDEX_PATH;
+
+    public PageOptions() {}
+
+    public PageOptions(String assetBasePath) {
+        setAssetBasePath(assetBasePath);
+    }
+
+    /**
+     * Path, relative or absolute, under which the stylesheet and script are served.
+     */
+    public String getAssetBasePath() {
+        return assetBasePath;
+    }
+
+    public void setAssetBasePath(String assetBasePath) {
+        this.assetBasePath = assetBasePath.endsWith("/") ? assetBasePath : assetBasePath + "/";
+    }
+
+    /**
+     * Whether the page embeds only a manifest and loads each controller on demand.
+     */
+    public boolean isChunked() {
+        return chunked;
+    }
+
+    public void setChunked(boolean chunked) {
+        this.chunked = chunked;
+    }
+
+    /**
+     * Path, relative or absolute, under which per-controller JSON chunks are served.
+     */
+    public String getChunkBasePath() {
+        return chunkBasePath;
+    }
+
+    public void setChunkBasePath(String chunkBasePath) {
+        this.chunkBasePath = chunkBasePath.endsWith("/") ? chunkBasePath : chunkBasePath + "/";
+    }
+
+    /**
+     * Path, relative or absolute, of the search index the page fetches on first search,
+     * or {@code null} to filter the sidebar by link text only.
+     */
+    public String getSearchIndexPath() {
+        return searchIndexPath;
+    }
+
+    public void setSearchIndexPath(String searchIndexPath) {
+        this.searchIndexPath = searchIndexPath;
+    }
+}
@@ -0,0 +1,67 @@
+package com.docx.generators;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template precompiled into immutable UTF-8 segments separated by named
+ * {@code {{slot}}} markers. Rendering writes the segments in order and lets the caller
+ * fill each slot directly into the output, so no format string is parsed and no copy
+ * of the page is built per render.
+ */
+final class SegmentedTemplate {
+
+    private static final String SLOT_START = "{{";
+    private static final String SLOT_END = "}}";
+
+    private final byte[][] segments;
+    private final String[] slots;
+    private final int staticLength;
+
+    private SegmentedTemplate(List<byte[]> segments, List<String> slots) {
+        this.segments = segments.toArray(new byte[0][]);
+        this.slots = slots.toArray(new String[0]);
+        this.staticLength = segments.stream().mapToInt(segment -> segment.length).sum();
+    }
+
+    static SegmentedTemplate compile(String template) {
+        List<byte[]> segments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int position = 0;
+        int start;
+        while ((start = template.indexOf(SLOT_START, position)) >= 0) {
+            int end = template.indexOf(SLOT_END, start + SLOT_START.length());
+            if (end < 0) {
+                throw new IllegalArgumentException("Unterminated slot at index " + start);
+            }
+            segments.add(template.substring(position, start).getBytes(StandardCharsets.UTF_8));
+            slots.add(template.substring(start + SLOT_START.length(), end).trim());
+            position = end + SLOT_END.length();
+        }
+        segments.add(template.substring(position).getBytes(StandardCharsets.UTF_8));
+        return new SegmentedTemplate(segments, slots);
+    }
+
+    /**
+     * Total size in bytes of the static parts, useful for pre-sizing output buffers.
+     */
+    int getStaticLength() {
+        return staticLength;
+    }
+
+    void render(OutputStream out, SlotWriter slotWriter) throws IOException {
+        for (int i = 0; i < slots.length; i++) {
+            out.write(segments[i]);
+            slotWriter.write(slots[i], out);
+        }
+        out.write(segments[slots.length]);
+    }
+
+    @FunctionalInterface
+    interface SlotWriter {
+        void write(String slot, OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,56 @@
+package com.docx.generators;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A static stylesheet or script referenced by the generated page. The file name embeds
+ * a hash of the content, so it changes whenever the content does and can be cached
+ * indefinitely.
+ */
+public final class TemplateAsset {
+
+    private final String name;
+    private final String contentType;
+    private final byte[] content;
+
+    private TemplateAsset(String name, String contentType, byte[] content) {
+        this.name = name;
+        this.contentType = contentType;
+        this.content = content;
+    }
+
+    /**
+     * Creates an asset named {@code <prefix>.<hash>.<extension>}.
+     */
+    public static TemplateAsset hashed(String prefix, String extension, String contentType, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return new TemplateAsset(prefix + "." + contentHash(bytes) + "." + extension, contentType, bytes);
+    }
+
+    private static String contentHash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the UTF-8 content. The array is shared and must not be modified.
+     */
+    public byte[] getContent() {
+        return content;
+    }
+}
@@ -4,182 +4,162 @@ import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.stereotype.Component;
-import org.springframework.web.bind.annotation.*;
 
-import jakarta.servlet.http.HttpServletRequest;
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
 
+/**
+ * Records request lines of controller calls as examples. The request thread only queues the
+ * call's path and query arguments; a single background consumer formats, sanitizes,
+ * deduplicates and stores them. The queue is lock-free and bounded by a counter; calls
+ * arriving while it is full are dropped and counted.
+ */
 @Aspect
 @Component
-public class AopExampleGenerator {
+public class AopExampleGenerator implements DisposableBean {
 
-    private final Map<String, List<String>> generatedExamples = new ConcurrentHashMap<>();
-    private final Map<String, Integer> exampleCounters = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(AopExampleGenerator.class);
+
+    private static final int MAX_EXAMPLES_PER_METHOD = 10;
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final long DEFAULT_MEMORY_BUDGET_BYTES = 1024 * 1024;
+    // Map entries, counter and key of an endpoint, on top of its buffer
+    private static final long ENDPOINT_OVERHEAD_BYTES = 160;
+
+    private final Map<String, ExampleRingBuffer> generatedExamples = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> exampleCounters = new ConcurrentHashMap<>();
+    // Same buffers as generatedExamples, least recently recorded first; guards the accounting
+    private final LinkedHashMap<String, ExampleRingBuffer> recentlyRecorded = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile long footprintBytes;
+    private volatile long memoryBudgetBytes = DEFAULT_MEMORY_BUDGET_BYTES;
+    private final Map<Method, EndpointExampleTemplate> templates = new ConcurrentHashMap<>();
+    private final ExampleSampler sampler = new ExampleSampler();
+    private final Function<Object, String> valueFormatter = this::generateExampleValue;
+    private volatile boolean enabled = true;
+
+    // Producers claim room in pendingCount before offering, so the queue never exceeds the capacity
+    private final Queue<CapturedCall> pendingCalls = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private volatile int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+    private final LongAdder droppedCalls = new LongAdder();
+    private volatile boolean consumerStarted;
+    private volatile boolean consumerParked;
+    private volatile boolean stopped;
+    private volatile Thread consumer;
 
     @Before("@within(org.springframework.web.bind.annotation.RestController) || " +
             "@within(org.springframework.stereotype.Controller)")
     public void captureControllerMethodCall(JoinPoint joinPoint) {
+        if (!enabled) {
+            return;
+        }
         MethodSignature signature = (MethodSignature) joinPoint.getSignature();
         Method method = signature.getMethod();
-        
-        if (isEndpointMethod(method)) {
-            String methodKey = generateMethodKey(method);
-            String example = generateExample(method, joinPoint.getArgs());
-            
-            addExample(methodKey, example);
-        }
-    }
-
-    private boolean isEndpointMethod(Method method) {
-        return method.isAnnotationPresent(RequestMapping.class) ||
-               method.isAnnotationPresent(GetMapping.class) ||
-               method.isAnnotationPresent(PostMapping.class) ||
-               method.isAnnotationPresent(PutMapping.class) ||
-               method.isAnnotationPresent(DeleteMapping.class) ||
-               method.isAnnotationPresent(PatchMapping.class);
-    }
-
-    private String generateMethodKey(Method method) {
-        return method.getDeclaringClass().getName() + "#" + method.getName();
-    }
 
-    private String generateExample(Method method, Object[] args) {
-        StringBuilder example = new StringBuilder();
-        
-        // Get HTTP method
-        String httpMethod = extractHttpMethod(method);
-        example.append(httpMethod).append(" ");
-        
-        // Get base URL from class
-        String baseUrl = extractBaseUrl(method.getDeclaringClass());
-        
-        // Get endpoint URL from method
-        String endpointUrl = extractEndpointUrl(method);
-        
-        // Combine URLs
-        String fullUrl = combineUrls(baseUrl, endpointUrl);
-        
-        // Replace path variables with actual values
-        fullUrl = replacePathVariables(fullUrl, method, args);
-        
-        example.append(fullUrl);
-        
-        // Add query parameters if any
-        String queryParams = extractQueryParameters(method, args);
-        if (!queryParams.isEmpty()) {
-            example.append("?").append(queryParams);
+        EndpointExampleTemplate template = templateFor(method);
+        if (!template.isEndpoint()) {
+            return;
+        }
+        // Decided before the arguments are formatted, so skipped calls cost a map lookup
+        if (!sampler.shouldSample(method)) {
+            return;
+        }
+        // Only the URL arguments are kept; formatting happens on the consumer thread
+        if (!enqueue(new CapturedCall(template, template.captureArgs(joinPoint.getArgs())))) {
+            droppedCalls.increment();
+            return;
+        }
+        if (!consumerStarted) {
+            startConsumer();
         }
-        
-        return example.toString();
     }
 
-    private String extractHttpMethod(Method method) {
-        if (method.isAnnotationPresent(GetMapping.class)) return "GET";
-        if (method.isAnnotationPresent(PostMapping.class)) return "POST";
-        if (method.isAnnotationPresent(PutMapping.class)) return "PUT";
-        if (method.isAnnotationPresent(DeleteMapping.class)) return "DELETE";
-        if (method.isAnnotationPresent(PatchMapping.class)) return "PATCH";
-        
-        if (method.isAnnotationPresent(RequestMapping.class)) {
-            RequestMapping mapping = method.getAnnotation(RequestMapping.class);
-            if (mapping.method().length > 0) {
-                return mapping.method()[0].name();
-            }
+    private boolean enqueue(CapturedCall call) {
+        if (pendingCount.incrementAndGet() > queueCapacity) {
+            pendingCount.decrementAndGet();
+            return false;
         }
-        
-        return "GET";
+        pendingCalls.offer(call);
+        // The consumer re-checks the queue after raising the flag, so no wake-up is lost
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+        return true;
     }
 
-    private String extractBaseUrl(Class<?> controllerClass) {
-        RequestMapping classMapping = controllerClass.getAnnotation(RequestMapping.class);
-        if (classMapping != null) {
-            if (classMapping.value().length > 0) return classMapping.value()[0];
-            if (classMapping.path().length > 0) return classMapping.path()[0];
+    private synchronized void startConsumer() {
+        if (consumerStarted || stopped) {
+            return;
         }
-        return "";
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("docx-examples-");
+        executor.setDaemon(true);
+        try {
+            executor.setVirtualThreads(true);
+        } catch (UnsupportedOperationException e) {
+            logger.debug("Virtual threads not supported on this JDK, recording examples on a platform thread");
+        }
+        executor.execute(this::consumeCalls);
+        consumerStarted = true;
     }
 
-    private String extractEndpointUrl(Method method) {
-        String[] urls = null;
-        
-        if (method.isAnnotationPresent(GetMapping.class)) {
-            GetMapping mapping = method.getAnnotation(GetMapping.class);
-            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
-        } else if (method.isAnnotationPresent(PostMapping.class)) {
-            PostMapping mapping = method.getAnnotation(PostMapping.class);
-            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
-        } else if (method.isAnnotationPresent(PutMapping.class)) {
-            PutMapping mapping = method.getAnnotation(PutMapping.class);
-            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
-        } else if (method.isAnnotationPresent(DeleteMapping.class)) {
-            DeleteMapping mapping = method.getAnnotation(DeleteMapping.class);
-            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
-        } else if (method.isAnnotationPresent(PatchMapping.class)) {
-            PatchMapping mapping = method.getAnnotation(PatchMapping.class);
-            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
-        } else if (method.isAnnotationPresent(RequestMapping.class)) {
-            RequestMapping mapping = method.getAnnotation(RequestMapping.class);
-            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
+    private void consumeCalls() {
+        consumer = Thread.currentThread();
+        while (!stopped) {
+            CapturedCall call = pendingCalls.poll();
+            if (call == null) {
+                consumerParked = true;
+                if (pendingCalls.isEmpty() && !stopped) {
+                    LockSupport.park(this);
+                }
+                consumerParked = false;
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                continue;
+            }
+            pendingCount.decrementAndGet();
+            try {
+                addExample(call.template.getMethodKey(), call.template.fill(call.values, valueFormatter));
+            } catch (RuntimeException e) {
+                // An argument's toString() failed; the example is skipped
+                logger.debug("Failed to record example", e);
+            }
         }
-        
-        return (urls != null && urls.length > 0) ? urls[0] : "";
     }
 
-    private String combineUrls(String baseUrl, String endpointUrl) {
-        if (baseUrl.isEmpty()) return endpointUrl;
-        if (endpointUrl.isEmpty()) return baseUrl;
-        
-        StringBuilder combined = new StringBuilder(baseUrl);
-        if (!baseUrl.endsWith("/") && !endpointUrl.startsWith("/")) {
-            combined.append("/");
-        }
-        if (baseUrl.endsWith("/") && endpointUrl.startsWith("/")) {
-            combined.deleteCharAt(combined.length() - 1);
+    @Override
+    public void destroy() {
+        stopped = true;
+        Thread thread = consumer;
+        if (thread != null) {
+            thread.interrupt();
         }
-        combined.append(endpointUrl);
-        
-        return combined.toString();
     }
 
-    private String replacePathVariables(String url, Method method, Object[] args) {
-        Parameter[] parameters = method.getParameters();
-        
-        for (int i = 0; i < parameters.length && i < args.length; i++) {
-            Parameter param = parameters[i];
-            PathVariable pathVar = param.getAnnotation(PathVariable.class);
-            
-            if (pathVar != null && args[i] != null) {
-                String paramName = pathVar.value().isEmpty() ? param.getName() : pathVar.value();
-                String placeholder = "{" + paramName + "}";
-                String value = generateExampleValue(args[i]);
-                url = url.replace(placeholder, value);
-            }
+    /**
+     * Mapping annotations are read once per method; later calls only look up the template.
+     */
+    private EndpointExampleTemplate templateFor(Method method) {
+        EndpointExampleTemplate template = templates.get(method);
+        if (template == null) {
+            template = templates.computeIfAbsent(method, EndpointExampleTemplate::of);
         }
-        
-        return url;
+        return template;
     }
 
-    private String extractQueryParameters(Method method, Object[] args) {
-        List<String> queryParams = new ArrayList<>();
-        Parameter[] parameters = method.getParameters();
-        
-        for (int i = 0; i < parameters.length && i < args.length; i++) {
-            Parameter param = parameters[i];
-            RequestParam requestParam = param.getAnnotation(RequestParam.class);
-            
-            if (requestParam != null && args[i] != null) {
-                String paramName = requestParam.value().isEmpty() ? param.getName() : requestParam.value();
-                String value = generateExampleValue(args[i]);
-                queryParams.add(paramName + "=" + value);
-            }
-        }
-        
-        return String.join("&", queryParams);
+    private String generateMethodKey(Method method) {
+        return method.getDeclaringClass().getName() + "#" + method.getName();
     }
 
     private String generateExampleValue(Object value) {
@@ -189,9 +169,10 @@ public class AopExampleGenerator {
         String stringValue = value.toString();
         
         // Sanitize sensitive information
-        if (stringValue.toLowerCase().contains("password") || 
-            stringValue.toLowerCase().contains("secret") ||
-            stringValue.toLowerCase().contains("token")) {
+        String lowerCaseValue = stringValue.toLowerCase();
+        if (lowerCaseValue.contains("password") ||
+            lowerCaseValue.contains("secret") ||
+            lowerCaseValue.contains("token")) {
             return "***";
         }
         
@@ -209,45 +190,167 @@ public class AopExampleGenerator {
     }
 
     private void addExample(String methodKey, String example) {
-        generatedExamples.computeIfAbsent(methodKey, k -> new ArrayList<>()).add(example);
-        
-        // Limit number of examples per method to avoid memory issues
-        List<String> examples = generatedExamples.get(methodKey);
-        if (examples.size() > 10) {
-            examples.remove(0); // Remove oldest example
+        // Keeps the latest distinct examples per method, overwriting the oldest
+        synchronized (recentlyRecorded) {
+            ExampleRingBuffer examples = recentlyRecorded.get(methodKey);
+            if (examples == null) {
+                examples = new ExampleRingBuffer(MAX_EXAMPLES_PER_METHOD);
+                recentlyRecorded.put(methodKey, examples);
+                generatedExamples.put(methodKey, examples);
+                footprintBytes += endpointBytes(methodKey, examples);
+            }
+            if (!examples.contains(example)) {
+                String overwritten = examples.add(example);
+                footprintBytes += ExampleRingBuffer.estimatedBytes(example)
+                        - (overwritten != null ? ExampleRingBuffer.estimatedBytes(overwritten) : 0);
+                evictOverBudget();
+            }
         }
-        
+
         // Track example count
-        exampleCounters.merge(methodKey, 1, Integer::sum);
+        LongAdder counter = exampleCounters.get(methodKey);
+        if (counter == null) {
+            counter = exampleCounters.computeIfAbsent(methodKey, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Drops the examples of the least recently recorded endpoints until the footprint fits
+     * the budget. The endpoint just recorded is always kept.
+     */
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, ExampleRingBuffer>> eldest = recentlyRecorded.entrySet().iterator();
+        while (footprintBytes > memoryBudgetBytes && recentlyRecorded.size() > 1) {
+            Map.Entry<String, ExampleRingBuffer> entry = eldest.next();
+            eldest.remove();
+            generatedExamples.remove(entry.getKey());
+            footprintBytes -= endpointBytes(entry.getKey(), entry.getValue());
+            logger.debug("Evicted examples of {} to stay within the memory budget", entry.getKey());
+        }
+    }
+
+    private static long endpointBytes(String methodKey, ExampleRingBuffer examples) {
+        return ENDPOINT_OVERHEAD_BYTES + ExampleRingBuffer.estimatedBytes(methodKey) + examples.estimatedBytes();
     }
 
     public List<String> getExamplesForMethod(Method method) {
-        String methodKey = generateMethodKey(method);
-        return generatedExamples.getOrDefault(methodKey, new ArrayList<>());
+        return getExamples(generateMethodKey(method));
     }
 
     public List<String> getExamplesForMethod(String className, String methodName) {
-        String methodKey = className + "#" + methodName;
-        return generatedExamples.getOrDefault(methodKey, new ArrayList<>());
+        return getExamples(className + "#" + methodName);
+    }
+
+    private List<String> getExamples(String methodKey) {
+        ExampleRingBuffer examples = generatedExamples.get(methodKey);
+        return examples != null ? examples.snapshot() : new ArrayList<>();
     }
 
     public Map<String, List<String>> getAllExamples() {
-        return new HashMap<>(generatedExamples);
+        Map<String, List<String>> allExamples = new HashMap<>();
+        generatedExamples.forEach((methodKey, examples) -> allExamples.put(methodKey, examples.snapshot()));
+        return allExamples;
     }
 
     public void clearExamples() {
-        generatedExamples.clear();
+        while (pendingCalls.poll() != null) {
+            pendingCount.decrementAndGet();
+        }
+        synchronized (recentlyRecorded) {
+            recentlyRecorded.clear();
+            generatedExamples.clear();
+            footprintBytes = 0;
+        }
         exampleCounters.clear();
+        sampler.reset();
     }
 
     public void clearExamplesForMethod(Method method) {
         String methodKey = generateMethodKey(method);
-        generatedExamples.remove(methodKey);
+        synchronized (recentlyRecorded) {
+            ExampleRingBuffer examples = recentlyRecorded.remove(methodKey);
+            generatedExamples.remove(methodKey);
+            if (examples != null) {
+                footprintBytes -= endpointBytes(methodKey, examples);
+            }
+        }
         exampleCounters.remove(methodKey);
     }
 
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Sampling settings deciding which controller calls are recorded; records every call by default.
+     */
+    public ExampleSampler getSampler() {
+        return sampler;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets how many captured calls may wait for the consumer.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    /**
+     * Number of captured calls waiting to be recorded.
+     */
+    public int getPendingExampleCount() {
+        // Briefly counts producers that are about to be rejected
+        return Math.min(pendingCount.get(), queueCapacity);
+    }
+
+    /**
+     * Number of sampled calls dropped because the queue was full.
+     */
+    public long getDroppedExampleCount() {
+        return droppedCalls.sum();
+    }
+
+    public long getMemoryBudgetBytes() {
+        return memoryBudgetBytes;
+    }
+
+    /**
+     * Sets the estimated heap size all recorded examples may take together. Beyond it the
+     * examples of the least recently recorded endpoints are dropped.
+     */
+    public void setMemoryBudgetBytes(long memoryBudgetBytes) {
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
+    /**
+     * Estimated heap size of the recorded examples.
+     */
+    public long getFootprintBytes() {
+        return footprintBytes;
+    }
+
     public int getExampleCount(String className, String methodName) {
-        String methodKey = className + "#" + methodName;
-        return exampleCounters.getOrDefault(methodKey, 0);
+        LongAdder counter = exampleCounters.get(className + "#" + methodName);
+        return counter != null ? counter.intValue() : 0;
+    }
+
+    private static final class CapturedCall {
+        private final EndpointExampleTemplate template;
+        // Path variable and query parameter arguments only, see EndpointExampleTemplate#captureArgs
+        private final Object[] values;
+
+        private CapturedCall(EndpointExampleTemplate template, Object[] values) {
+            this.template = template;
+            this.values = values;
+        }
     }
-}
\ No newline at end of file
+}
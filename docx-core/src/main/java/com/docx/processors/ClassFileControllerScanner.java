@@ -0,0 +1,330 @@
+package com.docx.processors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Finds controller classes by reading annotations straight from {@code .class} bytes
+ * in class directories and jars. Classes are never loaded, so no static initializers
+ * run and nothing is pulled into metaspace until a controller has been identified.
+ * Composed stereotypes are resolved by reading the annotation's own class file.
+ */
+public class ClassFileControllerScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassFileControllerScanner.class);
+
+    private static final String REST_CONTROLLER_DESCRIPTOR = "Lorg/springframework/web/bind/annotation/RestController;";
+    private static final String CONTROLLER_DESCRIPTOR = "Lorg/springframework/stereotype/Controller;";
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_MODULE = 0x8000;
+
+    // Composed annotations are followed this many levels, e.g. @ApiController -> @RestController
+    private static final int MAX_META_ANNOTATION_DEPTH = 3;
+    // Annotations from these packages are never composed controller stereotypes
+    private static final List<String> LIBRARY_ANNOTATION_PREFIXES = List.of(
+            "Ljava/", "Ljavax/", "Ljakarta/", "Lkotlin/", "Lorg/springframework/");
+
+    private final ClassLoader resourceLoader;
+    private final Map<String, Boolean> stereotypes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a scanner that reads composed annotations through the thread context class loader.
+     */
+    public ClassFileControllerScanner() {
+        this(Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Creates a scanner that reads the class files of composed annotations through
+     * {@code resourceLoader}, which should see the scanned classpath.
+     */
+    public ClassFileControllerScanner(ClassLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * Scans all classpath elements in parallel and returns the binary names of controller classes.
+     */
+    public Set<String> scan(Collection<File> classpathElements, Collection<String> packages) {
+        Set<String> prefixes = ClasspathControllerScanner.collapsePackages(packages);
+        Set<String> controllers = ConcurrentHashMap.newKeySet();
+        classpathElements.parallelStream()
+                .forEach(element -> controllers.addAll(scanElement(element, prefixes)));
+        return new TreeSet<>(controllers);
+    }
+
+    /**
+     * Scans a single class directory or jar for controller classes in the given packages.
+     */
+    public Set<String> scan(File classpathElement, Collection<String> packages) {
+        return scanElement(classpathElement, ClasspathControllerScanner.collapsePackages(packages));
+    }
+
+    private Set<String> scanElement(File element, Set<String> prefixes) {
+        List<String> pathPrefixes = prefixes.stream()
+                .map(prefix -> prefix.replace('.', '/') + "/")
+                .collect(Collectors.toList());
+        try {
+            if (element.isDirectory()) {
+                return scanDirectory(element.toPath(), pathPrefixes);
+            }
+            if (element.isFile() && element.getName().endsWith(".jar")) {
+                return scanJar(element, pathPrefixes);
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to scan classpath element {}: {}", element, e.getMessage());
+        }
+        return Collections.emptySet();
+    }
+
+    private Set<String> scanDirectory(Path root, List<String> pathPrefixes) throws IOException {
+        Set<String> controllers = new HashSet<>();
+        for (String pathPrefix : pathPrefixes) {
+            Path packageDir = root.resolve(pathPrefix);
+            if (!Files.isDirectory(packageDir)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(packageDir)) {
+                for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(".class"))::iterator) {
+                    String className = readControllerClassName(Files.readAllBytes(file));
+                    if (className != null) {
+                        controllers.add(className);
+                    }
+                }
+            }
+        }
+        return controllers;
+    }
+
+    private Set<String> scanJar(File jar, List<String> pathPrefixes) throws IOException {
+        Set<String> controllers = new HashSet<>();
+        try (ZipFile zipFile = new ZipFile(jar)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (entry.isDirectory() || !name.endsWith(".class") || !matchesAny(name, pathPrefixes)) {
+                    continue;
+                }
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    String className = readControllerClassName(in.readAllBytes());
+                    if (className != null) {
+                        controllers.add(className);
+                    }
+                }
+            }
+        }
+        return controllers;
+    }
+
+    private boolean matchesAny(String entryName, List<String> pathPrefixes) {
+        for (String pathPrefix : pathPrefixes) {
+            if (entryName.startsWith(pathPrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the binary name of the class if it is a concrete or abstract class annotated
+     * with {@code @RestController} or {@code @Controller}, directly or through a composed
+     * annotation such as a custom {@code @ApiController}; otherwise {@code null}.
+     */
+    String readControllerClassName(byte[] classFile) {
+        ClassFileInfo info = readClassFile(classFile);
+        if (info == null || (info.accessFlags & (ACC_INTERFACE | ACC_ANNOTATION | ACC_MODULE)) != 0) {
+            return null;
+        }
+        for (String descriptor : info.annotationDescriptors) {
+            if (isControllerStereotype(descriptor, 0)) {
+                return info.className;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether the annotation is a controller stereotype itself or is meta-annotated with one.
+     * Annotation class files are read through the resource loader, never loaded.
+     */
+    private boolean isControllerStereotype(String descriptor, int depth) {
+        if (REST_CONTROLLER_DESCRIPTOR.equals(descriptor) || CONTROLLER_DESCRIPTOR.equals(descriptor)) {
+            return true;
+        }
+        if (depth >= MAX_META_ANNOTATION_DEPTH || isLibraryAnnotation(descriptor)) {
+            return false;
+        }
+        Boolean known = stereotypes.get(descriptor);
+        if (known != null) {
+            return known;
+        }
+        boolean stereotype = false;
+        ClassFileInfo annotation = readAnnotationClassFile(descriptor);
+        if (annotation != null && (annotation.accessFlags & ACC_ANNOTATION) != 0) {
+            for (String metaDescriptor : annotation.annotationDescriptors) {
+                if (!metaDescriptor.equals(descriptor) && isControllerStereotype(metaDescriptor, depth + 1)) {
+                    stereotype = true;
+                    break;
+                }
+            }
+        }
+        stereotypes.put(descriptor, stereotype);
+        return stereotype;
+    }
+
+    private static boolean isLibraryAnnotation(String descriptor) {
+        for (String prefix : LIBRARY_ANNOTATION_PREFIXES) {
+            if (descriptor.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ClassFileInfo readAnnotationClassFile(String descriptor) {
+        if (resourceLoader == null || !descriptor.startsWith("L") || !descriptor.endsWith(";")) {
+            return null;
+        }
+        String resourceName = descriptor.substring(1, descriptor.length() - 1) + ".class";
+        try (InputStream in = resourceLoader.getResourceAsStream(resourceName)) {
+            return in != null ? readClassFile(in.readAllBytes()) : null;
+        } catch (IOException e) {
+            logger.debug("Unable to read annotation class file {}: {}", resourceName, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parses the name, access flags and runtime-visible annotations of a class file, or
+     * returns {@code null} if it cannot be parsed.
+     */
+    static ClassFileInfo readClassFile(byte[] classFile) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+            if (in.readInt() != 0xCAFEBABE) {
+                return null;
+            }
+            in.skipBytes(4); // minor and major version
+
+            int constantPoolCount = in.readUnsignedShort();
+            String[] utf8 = new String[constantPoolCount];
+            int[] classNameIndexes = new int[constantPoolCount];
+            for (int i = 1; i < constantPoolCount; i++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case 1 -> utf8[i] = in.readUTF();
+                    case 7 -> classNameIndexes[i] = in.readUnsignedShort();
+                    case 8, 16, 19, 20 -> in.skipBytes(2);
+                    case 15 -> in.skipBytes(3);
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+                    case 5, 6 -> {
+                        in.skipBytes(8);
+                        i++; // long and double take two slots
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+
+            int accessFlags = in.readUnsignedShort();
+            if ((accessFlags & ACC_MODULE) != 0) {
+                return null;
+            }
+            int thisClass = in.readUnsignedShort();
+            in.skipBytes(2); // super class
+            in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+            skipMembers(in); // fields
+            skipMembers(in); // methods
+
+            String className = utf8[classNameIndexes[thisClass]].replace('/', '.');
+            List<String> annotationDescriptors = new ArrayList<>();
+            int attributeCount = in.readUnsignedShort();
+            for (int i = 0; i < attributeCount; i++) {
+                String attributeName = utf8[in.readUnsignedShort()];
+                int length = in.readInt();
+                if (!RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    in.skipBytes(length);
+                    continue;
+                }
+                int annotationCount = in.readUnsignedShort();
+                for (int a = 0; a < annotationCount; a++) {
+                    annotationDescriptors.add(utf8[in.readUnsignedShort()]);
+                    skipElementValuePairs(in);
+                }
+                break;
+            }
+            return new ClassFileInfo(className, accessFlags, annotationDescriptors);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            in.skipBytes(6); // access flags, name and descriptor
+            int attributeCount = in.readUnsignedShort();
+            for (int a = 0; a < attributeCount; a++) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream in) throws IOException {
+        int pairCount = in.readUnsignedShort();
+        for (int i = 0; i < pairCount; i++) {
+            in.skipBytes(2); // element name
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e' -> in.skipBytes(4);
+            case '@' -> {
+                in.skipBytes(2);
+                skipElementValuePairs(in);
+            }
+            case '[' -> {
+                int count = in.readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    skipElementValue(in);
+                }
+            }
+            default -> in.skipBytes(2); // constants and class literals
+        }
+    }
+
+    static final class ClassFileInfo {
+        private final String className;
+        private final int accessFlags;
+        private final List<String> annotationDescriptors;
+
+        private ClassFileInfo(String className, int accessFlags, List<String> annotationDescriptors) {
+            this.className = className;
+            this.accessFlags = accessFlags;
+            this.annotationDescriptors = annotationDescriptors;
+        }
+    }
+}
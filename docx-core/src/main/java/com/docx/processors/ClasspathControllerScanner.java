@@ -0,0 +1,86 @@
+package com.docx.processors;
+
+import org.reflections.Reflections;
+import org.reflections.scanners.Scanners;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URL;
+import java.util.*;
+
+/**
+ * Finds controller classes with a single {@link Reflections} pass over all requested
+ * package prefixes, so each jar and class directory is read once, in parallel.
+ */
+public class ClasspathControllerScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClasspathControllerScanner.class);
+
+    /**
+     * Scans the classpath roots of the given class loader that contain any of the packages.
+     */
+    public Set<Class<?>> findControllers(Collection<String> packages, ClassLoader classLoader) {
+        Set<String> prefixes = collapsePackages(packages);
+        Set<URL> urls = new LinkedHashSet<>();
+        for (String prefix : prefixes) {
+            urls.addAll(ClasspathHelper.forPackage(prefix, classLoader));
+        }
+        return findControllers(prefixes, urls, classLoader);
+    }
+
+    /**
+     * Scans exactly the given classpath roots for controllers in any of the packages.
+     */
+    public Set<Class<?>> findControllers(Collection<String> packages, Collection<URL> urls, ClassLoader classLoader) {
+        Set<String> prefixes = collapsePackages(packages);
+        if (prefixes.isEmpty() || urls.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        FilterBuilder inputsFilter = new FilterBuilder();
+        prefixes.forEach(inputsFilter::includePackage);
+
+        logger.debug("Scanning {} classpath roots for packages {}", urls.size(), prefixes);
+        Reflections reflections = new Reflections(new ConfigurationBuilder()
+                .setUrls(urls)
+                .filterInputsBy(inputsFilter)
+                .setClassLoaders(new ClassLoader[]{classLoader})
+                .setScanners(Scanners.TypesAnnotated)
+                .setParallel(true));
+
+        Set<Class<?>> controllers = new HashSet<>();
+        controllers.addAll(reflections.getTypesAnnotatedWith(RestController.class));
+        controllers.addAll(reflections.getTypesAnnotatedWith(Controller.class));
+        controllers.removeIf(Class::isAnnotation);
+        return controllers;
+    }
+
+    /**
+     * Removes package prefixes that are already covered by a broader one,
+     * e.g. {@code com.example} when {@code com} is also requested.
+     */
+    public static Set<String> collapsePackages(Collection<String> packages) {
+        List<String> sorted = packages.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(packageName -> !packageName.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+
+        Set<String> collapsed = new LinkedHashSet<>();
+        for (String candidate : sorted) {
+            boolean covered = collapsed.stream().anyMatch(prefix ->
+                    candidate.equals(prefix) || candidate.startsWith(prefix + "."));
+            if (!covered) {
+                collapsed.add(candidate);
+            }
+        }
+        return collapsed;
+    }
+}
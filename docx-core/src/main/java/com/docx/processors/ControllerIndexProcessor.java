@@ -0,0 +1,144 @@
+package com.docx.processors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compile-time annotation processor that records every {@code @RestController}
+ * and {@code @Controller} class in {@value #INDEX_LOCATION}, so that
+ * {@link ControllerScanner} can discover controllers without scanning the classpath.
+ * Classes carrying a composed stereotype, e.g. an {@code @ApiController} meta-annotated
+ * with {@code @RestController}, are recorded too, which is why every type is inspected.
+ */
+@SupportedAnnotationTypes("*")
+public class ControllerIndexProcessor extends AbstractProcessor {
+
+    public static final String INDEX_LOCATION = "META-INF/docx/controllers.idx";
+
+    static final String REST_CONTROLLER = "org.springframework.web.bind.annotation.RestController";
+    static final String CONTROLLER = "org.springframework.stereotype.Controller";
+
+    private final Set<String> controllers = new TreeSet<>();
+    private boolean previousIndexMerged;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!previousIndexMerged) {
+            mergePreviousIndex();
+            previousIndexMerged = true;
+        }
+
+        // getElementsAnnotatedWith does not follow meta-annotations, so walk all types
+        for (Element element : roundEnv.getRootElements()) {
+            collectControllers(element);
+        }
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    /**
+     * Incremental compilations only hand us the changed sources, so keep the
+     * entries of the previous index whose classes still exist.
+     */
+    private void mergePreviousIndex() {
+        try {
+            FileObject existing = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String className = line.trim();
+                    if (!className.isEmpty() && !className.startsWith("#") && isStillController(className)) {
+                        controllers.add(className);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No previous index - this is a clean build
+        }
+    }
+
+    private boolean isStillController(String className) {
+        TypeElement type = processingEnv.getElementUtils().getTypeElement(className.replace('$', '.'));
+        return type != null && isController(type);
+    }
+
+    private void collectControllers(Element element) {
+        if (element.getKind() == ElementKind.CLASS && isController(element)) {
+            controllers.add(processingEnv.getElementUtils()
+                    .getBinaryName((TypeElement) element).toString());
+        }
+        for (Element enclosed : element.getEnclosedElements()) {
+            if (enclosed.getKind().isClass() || enclosed.getKind().isInterface()) {
+                collectControllers(enclosed);
+            }
+        }
+    }
+
+    private boolean isController(Element element) {
+        return hasControllerStereotype(element, new HashSet<>());
+    }
+
+    /**
+     * Returns whether {@code element} is annotated with {@code @Controller} or
+     * {@code @RestController}, directly or through composed annotations.
+     */
+    private boolean hasControllerStereotype(Element element, Set<String> visited) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            String name = annotationType.getQualifiedName().toString();
+            if (name.equals(REST_CONTROLLER) || name.equals(CONTROLLER)) {
+                return true;
+            }
+            if (!name.startsWith("java.") && visited.add(name) && hasControllerStereotype(annotationType, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        if (controllers.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject index = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = index.openWriter()) {
+                for (String controller : controllers) {
+                    writer.write(controller);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unable to write Docx controller index " + INDEX_LOCATION + ": " + e.getMessage());
+        }
+    }
+}
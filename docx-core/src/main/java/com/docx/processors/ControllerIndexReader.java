@@ -0,0 +1,190 @@
+package com.docx.processors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.SpringProperties;
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads controller candidates from indexes that already exist on the classpath:
+ * the Docx index written by {@link ControllerIndexProcessor}, Spring's
+ * candidate-components index ({@code META-INF/spring.components}) and
+ * Jandex indexes ({@code META-INF/jandex.idx}).
+ */
+public class ControllerIndexReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ControllerIndexReader.class);
+
+    public static final String SPRING_COMPONENTS_LOCATION = "META-INF/spring.components";
+    public static final String JANDEX_INDEX_LOCATION = "META-INF/jandex.idx";
+
+    private static final String COMPONENT_STEREOTYPE = "org.springframework.stereotype.Component";
+    private static final String JANDEX_PACKAGE = "org.jboss.jandex.";
+    private static final int ACC_ANNOTATION = 0x2000;
+
+    /**
+     * Returns every copy of the index resource at {@code location}, one per classpath
+     * element that carries it.
+     */
+    public List<URL> findIndexResources(ClassLoader classLoader, String location) {
+        try {
+            return Collections.list(classLoader.getResources(location));
+        } catch (IOException e) {
+            logger.warn("Unable to list index resources {}: {}", location, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Returns the controller class names listed in all {@code controllers.idx}
+     * resources, or {@code null} when no index is present on the classpath.
+     */
+    public Set<String> readDocxIndex(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> resources = classLoader.getResources(ControllerIndexProcessor.INDEX_LOCATION);
+            if (!resources.hasMoreElements()) {
+                return null;
+            }
+
+            Set<String> classNames = new LinkedHashSet<>();
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                logger.debug("Reading controller index: {}", resource);
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String className = line.trim();
+                        if (!className.isEmpty() && !className.startsWith("#")) {
+                            classNames.add(className);
+                        }
+                    }
+                }
+            }
+            return classNames;
+        } catch (IOException e) {
+            logger.warn("Unable to read controller index {}: {}", ControllerIndexProcessor.INDEX_LOCATION, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the component class names recorded in Spring's candidate-components index,
+     * or {@code null} when there is none or {@code spring.index.ignore} is set. Controllers
+     * are recorded under the {@code @Component} stereotype, so callers still need to check
+     * the controller annotation of each candidate.
+     */
+    public Set<String> readSpringComponentsIndex(ClassLoader classLoader) {
+        if (SpringProperties.getFlag("spring.index.ignore")) {
+            return null;
+        }
+        try {
+            Enumeration<URL> resources = classLoader.getResources(SPRING_COMPONENTS_LOCATION);
+            if (!resources.hasMoreElements()) {
+                return null;
+            }
+
+            Set<String> classNames = new LinkedHashSet<>();
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                logger.debug("Reading Spring components index: {}", resource);
+                Properties index = new Properties();
+                try (InputStream in = resource.openStream()) {
+                    index.load(in);
+                }
+                index.forEach((className, stereotypes) -> {
+                    if (Arrays.asList(((String) stereotypes).split(",")).contains(COMPONENT_STEREOTYPE)) {
+                        classNames.add((String) className);
+                    }
+                });
+            }
+            return classNames;
+        } catch (IOException e) {
+            logger.warn("Unable to read Spring components index {}: {}", SPRING_COMPONENTS_LOCATION, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the classes annotated with {@code @RestController} or {@code @Controller}
+     * in all Jandex indexes, or {@code null} when there is no index or Jandex itself is
+     * not on the classpath. Composed stereotypes declared in an indexed module are
+     * followed, so their users are returned too. Jandex is an optional runtime dependency,
+     * so it is accessed reflectively.
+     */
+    public Set<String> readJandexIndex(ClassLoader classLoader) {
+        if (!ClassUtils.isPresent(JANDEX_PACKAGE + "IndexReader", classLoader)) {
+            return null;
+        }
+        try {
+            Enumeration<URL> resources = classLoader.getResources(JANDEX_INDEX_LOCATION);
+            if (!resources.hasMoreElements()) {
+                return null;
+            }
+
+            Class<?> indexReaderClass = ClassUtils.forName(JANDEX_PACKAGE + "IndexReader", classLoader);
+            Class<?> indexViewClass = ClassUtils.forName(JANDEX_PACKAGE + "IndexView", classLoader);
+            Class<?> dotNameClass = ClassUtils.forName(JANDEX_PACKAGE + "DotName", classLoader);
+            Class<?> annotationInstanceClass = ClassUtils.forName(JANDEX_PACKAGE + "AnnotationInstance", classLoader);
+            Class<?> annotationTargetClass = ClassUtils.forName(JANDEX_PACKAGE + "AnnotationTarget", classLoader);
+            Class<?> classInfoClass = ClassUtils.forName(JANDEX_PACKAGE + "ClassInfo", classLoader);
+
+            Constructor<?> newIndexReader = indexReaderClass.getConstructor(InputStream.class);
+            Method read = indexReaderClass.getMethod("read");
+            Method getAnnotations = indexViewClass.getMethod("getAnnotations", dotNameClass);
+            Method createSimple = dotNameClass.getMethod("createSimple", String.class);
+            Method target = annotationInstanceClass.getMethod("target");
+            Method kind = annotationTargetClass.getMethod("kind");
+            Method asClass = annotationTargetClass.getMethod("asClass");
+            Method name = classInfoClass.getMethod("name");
+            Method flags = classInfoClass.getMethod("flags");
+
+            Set<String> classNames = new LinkedHashSet<>();
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                logger.debug("Reading Jandex index: {}", resource);
+                Object index;
+                try (InputStream in = resource.openStream()) {
+                    index = read.invoke(newIndexReader.newInstance(in));
+                }
+                // Annotation types found on the way are composed stereotypes; their users are looked up next
+                Deque<Object> annotationNames = new ArrayDeque<>(List.of(
+                        createSimple.invoke(null, ControllerIndexProcessor.REST_CONTROLLER),
+                        createSimple.invoke(null, ControllerIndexProcessor.CONTROLLER)));
+                Set<String> visitedAnnotations = new HashSet<>();
+                while (!annotationNames.isEmpty()) {
+                    Object annotationName = annotationNames.poll();
+                    if (!visitedAnnotations.add(annotationName.toString())) {
+                        continue;
+                    }
+                    for (Object instance : (Collection<?>) getAnnotations.invoke(index, annotationName)) {
+                        Object annotationTarget = target.invoke(instance);
+                        if (annotationTarget == null || !"CLASS".equals(String.valueOf(kind.invoke(annotationTarget)))) {
+                            continue;
+                        }
+                        Object classInfo = asClass.invoke(annotationTarget);
+                        if ((((Number) flags.invoke(classInfo)).intValue() & ACC_ANNOTATION) != 0) {
+                            annotationNames.add(name.invoke(classInfo));
+                        } else {
+                            classNames.add(name.invoke(classInfo).toString());
+                        }
+                    }
+                }
+            }
+            return classNames;
+        } catch (IOException | ReflectiveOperationException | LinkageError e) {
+            logger.warn("Unable to read Jandex index {}: {}", JANDEX_INDEX_LOCATION, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.docx.processors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Persistent cache of discovered controller class names, keyed by a fingerprint
+ * (size, modification time and checksum) of every jar and class directory.
+ * Unchanged classpath elements are skipped entirely; only modified ones are
+ * re-examined with {@link ClassFileControllerScanner}.
+ */
+public class ControllerScanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ControllerScanCache.class);
+
+    // Version 2 also records controllers annotated with composed stereotypes
+    private static final int FORMAT_VERSION = 2;
+
+    private final Path cacheFile;
+    private final ClassFileControllerScanner scanner;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ControllerScanCache(Path cacheFile) {
+        this(cacheFile, new ClassFileControllerScanner());
+    }
+
+    public ControllerScanCache(Path cacheFile, ClassFileControllerScanner scanner) {
+        this.cacheFile = cacheFile;
+        this.scanner = scanner;
+    }
+
+    /**
+     * Returns the controller class names found in the classpath elements, reusing the
+     * cached result of every element whose fingerprint has not changed.
+     */
+    public Set<String> scan(List<File> classpathElements, Collection<String> packages) {
+        List<String> prefixes = new ArrayList<>(ClasspathControllerScanner.collapsePackages(packages));
+        CacheState previous = load(prefixes);
+
+        Map<String, ElementEntry> entries = new ConcurrentHashMap<>();
+        classpathElements.parallelStream().forEach(element -> {
+            String key = element.getAbsolutePath();
+            ElementEntry cached = previous.getElements().get(key);
+            ElementEntry current = fingerprint(element, cached);
+            if (current == null) {
+                return;
+            }
+            if (cached != null && cached.sameContentAs(current)) {
+                current.setControllers(cached.getControllers());
+            } else {
+                logger.debug("Classpath element changed, rescanning: {}", element);
+                current.setControllers(new ArrayList<>(scanner.scan(element, prefixes)));
+            }
+            entries.put(key, current);
+        });
+
+        CacheState state = new CacheState();
+        state.setVersion(FORMAT_VERSION);
+        state.setPackages(prefixes);
+        state.setElements(new TreeMap<>(entries));
+        save(state);
+
+        return entries.values().stream()
+                .flatMap(entry -> entry.getControllers().stream())
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Fingerprints a jar or class directory. Jars whose size and modification time match
+     * the cached entry are returned as-is without being opened.
+     */
+    private ElementEntry fingerprint(File element, ElementEntry cached) {
+        try {
+            if (element.isFile()) {
+                ElementEntry entry = new ElementEntry();
+                entry.setSize(element.length());
+                entry.setLastModified(element.lastModified());
+                if (cached != null && cached.getSize() == entry.getSize()
+                        && cached.getLastModified() == entry.getLastModified()) {
+                    entry.setChecksum(cached.getChecksum());
+                } else {
+                    entry.setChecksum(jarChecksum(element));
+                }
+                return entry;
+            }
+            if (element.isDirectory()) {
+                return directoryFingerprint(element.toPath());
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to fingerprint classpath element {}: {}", element, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Checksums the jar's central directory (entry names, CRCs and sizes), which is
+     * much cheaper than reading the content and stable across re-downloads.
+     */
+    private long jarChecksum(File jar) throws IOException {
+        CRC32 crc = new CRC32();
+        try (ZipFile zipFile = new ZipFile(jar)) {
+            Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry zipEntry = zipEntries.nextElement();
+                crc.update(zipEntry.getName().getBytes(StandardCharsets.UTF_8));
+                updateLong(crc, zipEntry.getCrc());
+                updateLong(crc, zipEntry.getSize());
+            }
+        }
+        return crc.getValue();
+    }
+
+    private ElementEntry directoryFingerprint(Path root) throws IOException {
+        CRC32 crc = new CRC32();
+        long classFiles = 0;
+        long lastModified = 0;
+        try (Stream<Path> files = Files.walk(root)) {
+            List<Path> sorted = files.filter(file -> file.toString().endsWith(".class")).sorted().toList();
+            for (Path file : sorted) {
+                long size = Files.size(file);
+                long modified = Files.getLastModifiedTime(file).toMillis();
+                crc.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                updateLong(crc, size);
+                updateLong(crc, modified);
+                classFiles++;
+                lastModified = Math.max(lastModified, modified);
+            }
+        }
+        ElementEntry entry = new ElementEntry();
+        entry.setSize(classFiles);
+        entry.setLastModified(lastModified);
+        entry.setChecksum(crc.getValue());
+        return entry;
+    }
+
+    private static void updateLong(CRC32 crc, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (value >>> shift));
+        }
+    }
+
+    private CacheState load(List<String> prefixes) {
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                CacheState state = objectMapper.readValue(cacheFile.toFile(), CacheState.class);
+                if (state.getVersion() == FORMAT_VERSION && prefixes.equals(state.getPackages())) {
+                    return state;
+                }
+                logger.debug("Scan cache {} was built for different packages, ignoring it", cacheFile);
+            } catch (IOException e) {
+                logger.warn("Unable to read scan cache {}: {}", cacheFile, e.getMessage());
+            }
+        }
+        return new CacheState();
+    }
+
+    private void save(CacheState state) {
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            Path tempFile = Files.createTempFile(cacheFile.toAbsolutePath().getParent(), "controller-scan", ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), state);
+            try {
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to write scan cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    public Path getCacheFile() {
+        return cacheFile;
+    }
+
+    public static class CacheState {
+        private int version;
+        private List<String> packages = new ArrayList<>();
+        private Map<String, ElementEntry> elements = new HashMap<>();
+
+        public int getVersion() {
+            return version;
+        }
+
+        public void setVersion(int version) {
+            this.version = version;
+        }
+
+        public List<String> getPackages() {
+            return packages;
+        }
+
+        public void setPackages(List<String> packages) {
+            this.packages = packages;
+        }
+
+        public Map<String, ElementEntry> getElements() {
+            return elements;
+        }
+
+        public void setElements(Map<String, ElementEntry> elements) {
+            this.elements = elements;
+        }
+    }
+
+    public static class ElementEntry {
+        private long size;
+        private long lastModified;
+        private long checksum;
+        private List<String> controllers = new ArrayList<>();
+
+        boolean sameContentAs(ElementEntry other) {
+            return size == other.size && checksum == other.checksum;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public void setSize(long size) {
+            this.size = size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public void setLastModified(long lastModified) {
+            this.lastModified = lastModified;
+        }
+
+        public long getChecksum() {
+            return checksum;
+        }
+
+        public void setChecksum(long checksum) {
+            this.checksum = checksum;
+        }
+
+        public List<String> getControllers() {
+            return controllers;
+        }
+
+        public void setControllers(List<String> controllers) {
+            this.controllers = controllers;
+        }
+    }
+}
@@ -2,30 +2,44 @@ package com.docx.processors;
 
 import com.docx.models.ApiDocumentation;
 import com.docx.models.ControllerDoc;
-import org.reflections.Reflections;
-import org.reflections.scanners.Scanners;
+import org.reflections.util.ClasspathHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.stereotype.Controller;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.util.ClassUtils;
 
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
 public class ControllerScanner implements ApplicationContextAware {
 
     private static final Logger logger = LoggerFactory.getLogger(ControllerScanner.class);
+
+    private static final String SCAN_CACHE_FILE = "controller-scan.json";
     
     private ApplicationContext applicationContext;
     private final SpringAnnotationProcessor annotationProcessor;
+    private final ControllerIndexReader indexReader;
+    private final ClasspathControllerScanner classpathScanner;
     private final Object properties; // Would be DocxProperties in real implementation
+    private DiscoveryMode discoveryMode = DiscoveryMode.CLASSPATH;
+    private Path scanCacheDirectory;
 
     public ControllerScanner(Object properties) {
         this.properties = properties;
         this.annotationProcessor = new SpringAnnotationProcessor();
+        this.indexReader = new ControllerIndexReader();
+        this.classpathScanner = new ClasspathControllerScanner();
         logger.debug("ControllerScanner initialized with properties: {}", properties);
     }
 
@@ -37,12 +51,31 @@ public class ControllerScanner implements ApplicationContextAware {
 
     public ApiDocumentation scanAndGenerateDocumentation() {
         logger.info("Starting controller scanning and documentation generation...");
+        annotationProcessor.clearModels();
         
+        List<ControllerDoc> controllers = discoveryMode == DiscoveryMode.HANDLER_MAPPING && canUseHandlerMappings()
+                ? discoverFromHandlerMappings()
+                : processScannedControllers();
+
+        logger.info("Successfully processed {} controllers for documentation", controllers.size());
+
+        ApiDocumentation apiDoc = new ApiDocumentation();
+        apiDoc.setTitle("API Documentation"); // Would come from properties
+        apiDoc.setVersion("1.0.0");
+        apiDoc.setDescription("Generated API Documentation");
+        apiDoc.setControllers(controllers);
+        apiDoc.setModels(annotationProcessor.getModels(controllers));
+
+        logger.info("Documentation generation complete. Total controllers: {}", controllers.size());
+        return apiDoc;
+    }
+
+    private List<ControllerDoc> processScannedControllers() {
         Set<Class<?>> controllerClasses = findAllControllers();
         logger.info("Found {} controller classes: {}", controllerClasses.size(), 
                 controllerClasses.stream().map(Class::getSimpleName).collect(Collectors.toList()));
         
-        List<ControllerDoc> controllers = controllerClasses.stream()
+        return controllerClasses.stream()
                 .filter(this::shouldIncludeController)
                 .map(controllerClass -> {
                     logger.debug("Processing controller: {}", controllerClass.getName());
@@ -52,17 +85,37 @@ public class ControllerScanner implements ApplicationContextAware {
                     return doc;
                 })
                 .collect(Collectors.toList());
+    }
 
-        logger.info("Successfully processed {} controllers for documentation", controllers.size());
+    private boolean canUseHandlerMappings() {
+        if (applicationContext == null) {
+            logger.warn("ApplicationContext is null, falling back to classpath scanning");
+            return false;
+        }
+        if (!HandlerMappingControllerDiscoverer.isAvailable(getClassLoader())) {
+            logger.warn("Spring MVC is not on the classpath, falling back to classpath scanning");
+            return false;
+        }
+        return true;
+    }
 
-        ApiDocumentation apiDoc = new ApiDocumentation();
-        apiDoc.setTitle("API Documentation"); // Would come from properties
-        apiDoc.setVersion("1.0.0");
-        apiDoc.setDescription("Generated API Documentation");
-        apiDoc.setControllers(controllers);
+    private List<ControllerDoc> discoverFromHandlerMappings() {
+        String mainPackage = findMainPackage();
+        logger.info("Discovering endpoints from request mappings{}", 
+                mainPackage != null ? " in package " + mainPackage : "");
 
-        logger.info("Documentation generation complete. Total controllers: {}", controllers.size());
-        return apiDoc;
+        return new HandlerMappingControllerDiscoverer(annotationProcessor).discover(applicationContext, controllerClass -> {
+            String className = controllerClass.getName();
+            if (mainPackage != null) {
+                if (!className.startsWith(mainPackage + ".")) {
+                    return false;
+                }
+            } else if (className.startsWith("org.springframework.")) {
+                // Framework handlers such as BasicErrorController
+                return false;
+            }
+            return shouldIncludeController(controllerClass);
+        });
     }
 
     private Set<Class<?>> findAllControllers() {
@@ -76,26 +129,14 @@ public class ControllerScanner implements ApplicationContextAware {
             String[] basePackages = determineBasePackages();
             logger.info("Base packages for scanning: {}", Arrays.toString(basePackages));
             
-            for (String basePackage : basePackages) {
-                logger.debug("Scanning package: {}", basePackage);
-                try {
-                    Reflections reflections = new Reflections(basePackage, Scanners.TypesAnnotated);
-                    
-                    Set<Class<?>> restControllers = reflections.getTypesAnnotatedWith(RestController.class);
-                    Set<Class<?>> regularControllers = reflections.getTypesAnnotatedWith(Controller.class);
-                    
-                    logger.debug("Found {} @RestController classes in package {}: {}", 
-                            restControllers.size(), basePackage, 
-                            restControllers.stream().map(Class::getSimpleName).collect(Collectors.toList()));
-                    logger.debug("Found {} @Controller classes in package {}: {}", 
-                            regularControllers.size(), basePackage,
-                            regularControllers.stream().map(Class::getSimpleName).collect(Collectors.toList()));
-                    
-                    controllers.addAll(restControllers);
-                    controllers.addAll(regularControllers);
-                } catch (Exception e) {
-                    logger.error("Error scanning package {}: {}", basePackage, e.getMessage(), e);
-                }
+            Set<Class<?>> indexedControllers = findIndexedControllers(basePackages);
+            Set<Class<?>> cachedControllers = indexedControllers == null ? findControllersWithScanCache(basePackages) : null;
+            if (indexedControllers != null) {
+                controllers.addAll(indexedControllers);
+            } else if (cachedControllers != null) {
+                controllers.addAll(cachedControllers);
+            } else {
+                controllers.addAll(scanWithReflections(basePackages));
             }
         } else {
             logger.warn("ApplicationContext is null, cannot scan for controllers");
@@ -105,24 +146,216 @@ public class ControllerScanner implements ApplicationContextAware {
         return controllers;
     }
 
+    /**
+     * Resolves controllers from an index that is already on the classpath, without scanning:
+     * the build-time index written by {@link ControllerIndexProcessor}, then Spring's
+     * candidate-components index, then Jandex. An index is only used when every classpath
+     * element containing the base packages carries it, so that a library shipping its own
+     * index, or a module compiled without one, does not hide the other controllers. Returns
+     * {@code null} when no index covers the base packages, so that the caller falls back to
+     * scanning (e.g. when the application was compiled without annotation processing).
+     */
+    private Set<Class<?>> findIndexedControllers(String[] basePackages) {
+        ClassLoader classLoader = getClassLoader();
+
+        Set<Class<?>> controllers = null;
+        if (indexCoversBasePackages("Docx controller index", ControllerIndexProcessor.INDEX_LOCATION, basePackages, classLoader)) {
+            controllers = resolveIndexedControllers("Docx controller index",
+                    indexReader.readDocxIndex(classLoader), basePackages, classLoader);
+        }
+        if (controllers == null
+                && indexCoversBasePackages("Spring components index", ControllerIndexReader.SPRING_COMPONENTS_LOCATION, basePackages, classLoader)) {
+            controllers = resolveIndexedControllers("Spring components index",
+                    indexReader.readSpringComponentsIndex(classLoader), basePackages, classLoader);
+        }
+        if (controllers == null
+                && indexCoversBasePackages("Jandex index", ControllerIndexReader.JANDEX_INDEX_LOCATION, basePackages, classLoader)) {
+            controllers = resolveIndexedControllers("Jandex index",
+                    indexReader.readJandexIndex(classLoader), basePackages, classLoader);
+        }
+        if (controllers == null) {
+            logger.debug("No index covers base packages, falling back to classpath scanning");
+        }
+        return controllers;
+    }
+
+    private boolean indexCoversBasePackages(String indexName, String location, String[] basePackages,
+                                            ClassLoader classLoader) {
+        Set<String> indexedRoots = new HashSet<>();
+        for (URL resource : indexReader.findIndexResources(classLoader, location)) {
+            String externalForm = resource.toExternalForm();
+            indexedRoots.add(classpathRoot(externalForm.substring(0, externalForm.length() - location.length())));
+        }
+        if (indexedRoots.isEmpty()) {
+            return false;
+        }
+        for (String basePackage : ClasspathControllerScanner.collapsePackages(Arrays.asList(basePackages))) {
+            for (URL root : ClasspathHelper.forPackage(basePackage, classLoader)) {
+                if (!indexedRoots.contains(classpathRoot(root.toExternalForm()))) {
+                    logger.debug("{} does not cover {}, which contains {} classes", indexName, root, basePackage);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Normalizes a classpath element URL, so that an index resource's root and the element
+     * found for a package compare equal whichever URL form they use.
+     */
+    private String classpathRoot(String externalForm) {
+        try {
+            File element = toFile(new URL(externalForm));
+            if (element != null) {
+                return element.getAbsolutePath();
+            }
+        } catch (MalformedURLException e) {
+            // Compared as is
+        }
+        return externalForm;
+    }
+
+    private Set<Class<?>> resolveIndexedControllers(String indexName, Set<String> classNames,
+                                                    String[] basePackages, ClassLoader classLoader) {
+        if (classNames == null) {
+            return null;
+        }
+
+        Set<Class<?>> controllers = new HashSet<>();
+        for (String className : classNames) {
+            if (!isInBasePackages(className, basePackages)) {
+                continue;
+            }
+            try {
+                Class<?> candidateClass = Class.forName(className, false, classLoader);
+                // Also matches composed stereotypes, which index entries may carry instead
+                if (AnnotatedElementUtils.hasAnnotation(candidateClass, Controller.class)) {
+                    controllers.add(candidateClass);
+                } else {
+                    logger.trace("Skipping non-controller entry of {}: {}", indexName, className);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                logger.warn("Class listed in {} could not be loaded: {}", indexName, className);
+            }
+        }
+        if (controllers.isEmpty()) {
+            logger.debug("{} does not cover base packages", indexName);
+            return null;
+        }
+        logger.info("Resolved {} controllers from {}", controllers.size(), indexName);
+        return controllers;
+    }
+
+    /**
+     * Resolves controllers through the persistent {@link ControllerScanCache}, rescanning only
+     * classpath elements that changed since the last start. Returns {@code null} when no cache
+     * directory is configured or the classpath contains elements that cannot be fingerprinted
+     * (e.g. jars nested in an executable archive).
+     */
+    private Set<Class<?>> findControllersWithScanCache(String[] basePackages) {
+        if (scanCacheDirectory == null) {
+            return null;
+        }
+
+        ClassLoader classLoader = getClassLoader();
+        List<File> classpathElements = new ArrayList<>();
+        for (String basePackage : ClasspathControllerScanner.collapsePackages(Arrays.asList(basePackages))) {
+            for (URL url : ClasspathHelper.forPackage(basePackage, classLoader)) {
+                File element = toFile(url);
+                if (element == null) {
+                    logger.debug("Classpath element {} cannot be cached, scanning instead", url);
+                    return null;
+                }
+                if (!classpathElements.contains(element)) {
+                    classpathElements.add(element);
+                }
+            }
+        }
+
+        Path cacheFile = scanCacheDirectory.resolve(SCAN_CACHE_FILE);
+        Set<String> classNames = new ControllerScanCache(cacheFile, new ClassFileControllerScanner(classLoader)).scan(classpathElements, Arrays.asList(basePackages));
+        Set<Class<?>> controllers = new HashSet<>();
+        for (String className : classNames) {
+            try {
+                controllers.add(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                logger.warn("Cached controller could not be loaded: {}", className);
+            }
+        }
+        logger.info("Resolved {} controllers using scan cache {}", controllers.size(), cacheFile);
+        return controllers;
+    }
+
+    private File toFile(URL url) {
+        String externalForm = url.toExternalForm();
+        if (externalForm.startsWith("jar:file:") && externalForm.indexOf("!/") == externalForm.length() - 2) {
+            externalForm = externalForm.substring("jar:".length(), externalForm.length() - 2);
+        }
+        if (!externalForm.startsWith("file:")) {
+            return null;
+        }
+        try {
+            return new File(new URI(externalForm));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Set<Class<?>> scanWithReflections(String[] basePackages) {
+        logger.debug("Scanning packages in a single pass: {}", Arrays.toString(basePackages));
+        try {
+            Set<Class<?>> controllers = classpathScanner.findControllers(Arrays.asList(basePackages), getClassLoader());
+            logger.debug("Found {} controller classes: {}", controllers.size(),
+                    controllers.stream().map(Class::getSimpleName).collect(Collectors.toList()));
+            return controllers;
+        } catch (Exception e) {
+            logger.error("Error scanning packages {}: {}", Arrays.toString(basePackages), e.getMessage(), e);
+            return new HashSet<>();
+        }
+    }
+
+    private boolean isInBasePackages(String className, String[] basePackages) {
+        for (String basePackage : basePackages) {
+            if (className.startsWith(basePackage + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ClassLoader getClassLoader() {
+        ClassLoader classLoader = applicationContext.getClassLoader();
+        return classLoader != null ? classLoader : ClassUtils.getDefaultClassLoader();
+    }
+
     private String[] determineBasePackages() {
         logger.debug("Determining base packages for scanning...");
         
+        String mainPackage = findMainPackage();
+        if (mainPackage != null) {
+            return new String[]{mainPackage};
+        }
+        
+        // Fallback to common base packages
+        logger.warn("No @SpringBootApplication found, falling back to common packages: com, org");
+        return new String[]{"com", "org"};
+    }
+
+    private String findMainPackage() {
         // Get the main application class
         Map<String, Object> mainBeans = applicationContext.getBeansWithAnnotation(SpringBootApplication.class);
         logger.debug("Found {} beans with @SpringBootApplication annotation", mainBeans.size());
         
         if (!mainBeans.isEmpty()) {
             Object mainBean = mainBeans.values().iterator().next();
-            String mainPackage = mainBean.getClass().getPackage().getName();
+            Class<?> mainClass = ClassUtils.getUserClass(mainBean);
+            String mainPackage = mainClass.getPackage().getName();
             logger.info("Using main application package as base: {} (from class {})", 
-                    mainPackage, mainBean.getClass().getSimpleName());
-            return new String[]{mainPackage};
+                    mainPackage, mainClass.getSimpleName());
+            return mainPackage;
         }
-        
-        // Fallback to common base packages
-        logger.warn("No @SpringBootApplication found, falling back to common packages: com, org");
-        return new String[]{"com", "org"};
+        return null;
     }
 
     private boolean shouldIncludeController(Class<?> controllerClass) {
@@ -144,4 +377,33 @@ public class ControllerScanner implements ApplicationContextAware {
     public Set<Class<?>> getControllerClasses() {
         return findAllControllers();
     }
+
+    public DiscoveryMode getDiscoveryMode() {
+        return discoveryMode;
+    }
+
+    public void setDiscoveryMode(DiscoveryMode discoveryMode) {
+        this.discoveryMode = discoveryMode != null ? discoveryMode : DiscoveryMode.CLASSPATH;
+    }
+
+    public Path getScanCacheDirectory() {
+        return scanCacheDirectory;
+    }
+
+    /**
+     * Directory for the persistent controller scan cache; {@code null} disables the cache.
+     */
+    public void setScanCacheDirectory(Path scanCacheDirectory) {
+        this.scanCacheDirectory = scanCacheDirectory;
+    }
+
+    /**
+     * How controllers and their endpoints are discovered.
+     */
+    public enum DiscoveryMode {
+        /** Build-time index, falling back to scanning the classpath for controller annotations. */
+        CLASSPATH,
+        /** Read the handler methods registered in Spring MVC's {@code RequestMappingHandlerMapping}. */
+        HANDLER_MAPPING
+    }
 }
\ No newline at end of file
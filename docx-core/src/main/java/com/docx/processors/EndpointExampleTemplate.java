@@ -0,0 +1,268 @@
+package com.docx.processors;
+
+import org.springframework.web.bind.annotation.*;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Request line template of one endpoint method, derived from its mapping annotations once,
+ * so recording an example only fills in the argument values.
+ */
+final class EndpointExampleTemplate {
+
+    /** Shared by all methods that are not request handlers. */
+    static final EndpointExampleTemplate NONE = new EndpointExampleTemplate(null, null, new String[0], new int[0], new String[0], new String[0], new int[0]);
+
+    private final String methodKey;
+    private final String httpMethod;
+    // URL literals around the path variables: literals[0] {pathArgs[0]} literals[1] ...
+    private final String[] literals;
+    private final int[] pathArgs;
+    private final String[] placeholders;
+    private final String[] queryNames;
+    private final int[] queryArgs;
+    private final int estimatedLength;
+
+    private EndpointExampleTemplate(String methodKey, String httpMethod, String[] literals, int[] pathArgs,
+                                    String[] placeholders, String[] queryNames, int[] queryArgs) {
+        this.methodKey = methodKey;
+        this.httpMethod = httpMethod;
+        this.literals = literals;
+        this.pathArgs = pathArgs;
+        this.placeholders = placeholders;
+        this.queryNames = queryNames;
+        this.queryArgs = queryArgs;
+        int length = httpMethod != null ? httpMethod.length() + 1 : 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.estimatedLength = length + 16 * (pathArgs.length + queryArgs.length);
+    }
+
+    static EndpointExampleTemplate of(Method method) {
+        if (!isEndpointMethod(method)) {
+            return NONE;
+        }
+        Parameter[] parameters = method.getParameters();
+        String url = combineUrls(extractBaseUrl(method.getDeclaringClass()), extractEndpointUrl(method));
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> pathArgs = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < url.length()) {
+            int open = url.indexOf('{', position);
+            int close = open < 0 ? -1 : closingBrace(url, open);
+            if (close < 0) {
+                break;
+            }
+            String variable = url.substring(open + 1, close);
+            int colon = variable.indexOf(':');
+            int argIndex = pathVariableIndex(parameters, colon < 0 ? variable : variable.substring(0, colon));
+            if (argIndex < 0) {
+                // Not bound to an argument, keep the placeholder as is
+                literal.append(url, position, close + 1);
+            } else {
+                literal.append(url, position, open);
+                literals.add(literal.toString());
+                literal.setLength(0);
+                pathArgs.add(argIndex);
+                placeholders.add(url.substring(open, close + 1));
+            }
+            position = close + 1;
+        }
+        literal.append(url, Math.min(position, url.length()), url.length());
+        literals.add(literal.toString());
+
+        List<String> queryNames = new ArrayList<>();
+        List<Integer> queryArgs = new ArrayList<>();
+        for (int i = 0; i < parameters.length; i++) {
+            RequestParam requestParam = parameters[i].getAnnotation(RequestParam.class);
+            if (requestParam != null) {
+                queryNames.add(firstNonEmpty(requestParam.value(), requestParam.name(), parameters[i].getName()) + "=");
+                queryArgs.add(i);
+            }
+        }
+
+        return new EndpointExampleTemplate(
+                method.getDeclaringClass().getName() + "#" + method.getName(),
+                extractHttpMethod(method),
+                literals.toArray(new String[0]),
+                pathArgs.stream().mapToInt(Integer::intValue).toArray(),
+                placeholders.toArray(new String[0]),
+                queryNames.toArray(new String[0]),
+                queryArgs.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    boolean isEndpoint() {
+        return this != NONE;
+    }
+
+    String getMethodKey() {
+        return methodKey;
+    }
+
+    /**
+     * Copies the path variable and query parameter arguments out of a call's arguments,
+     * path variables first, so bodies, servlet objects and uploads are not retained.
+     */
+    Object[] captureArgs(Object[] args) {
+        Object[] values = new Object[pathArgs.length + queryArgs.length];
+        for (int i = 0; i < pathArgs.length; i++) {
+            values[i] = pathArgs[i] < args.length ? args[pathArgs[i]] : null;
+        }
+        for (int i = 0; i < queryArgs.length; i++) {
+            values[pathArgs.length + i] = queryArgs[i] < args.length ? args[queryArgs[i]] : null;
+        }
+        return values;
+    }
+
+    /**
+     * Renders the request line, e.g. {@code GET /pets/42?q=cat}, from values returned by
+     * {@link #captureArgs(Object[])}. Path variables whose argument is {@code null} keep
+     * their placeholder; {@code null} query arguments are left out.
+     */
+    String fill(Object[] values, Function<Object, String> valueFormatter) {
+        StringBuilder example = new StringBuilder(estimatedLength);
+        example.append(httpMethod).append(' ').append(literals[0]);
+        for (int i = 0; i < pathArgs.length; i++) {
+            Object value = values[i];
+            if (value != null) {
+                example.append(valueFormatter.apply(value));
+            } else {
+                example.append(placeholders[i]);
+            }
+            example.append(literals[i + 1]);
+        }
+        char separator = '?';
+        for (int i = 0; i < queryArgs.length; i++) {
+            Object value = values[pathArgs.length + i];
+            if (value != null) {
+                example.append(separator).append(queryNames[i]).append(valueFormatter.apply(value));
+                separator = '&';
+            }
+        }
+        return example.toString();
+    }
+
+    /**
+     * Returns the index of the brace closing the URL variable opened at {@code open},
+     * skipping braces nested in its regex, e.g. {@code {id:\d{3}}}, or -1 if unbalanced.
+     */
+    private static int closingBrace(String url, int open) {
+        int depth = 0;
+        for (int i = open; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int pathVariableIndex(Parameter[] parameters, String name) {
+        for (int i = 0; i < parameters.length; i++) {
+            PathVariable pathVariable = parameters[i].getAnnotation(PathVariable.class);
+            if (pathVariable != null
+                    && name.equals(firstNonEmpty(pathVariable.value(), pathVariable.name(), parameters[i].getName()))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String firstNonEmpty(String... values) {
+        for (String value : values) {
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return "";
+    }
+
+    private static boolean isEndpointMethod(Method method) {
+        return method.isAnnotationPresent(RequestMapping.class) ||
+               method.isAnnotationPresent(GetMapping.class) ||
+               method.isAnnotationPresent(PostMapping.class) ||
+               method.isAnnotationPresent(PutMapping.class) ||
+               method.isAnnotationPresent(DeleteMapping.class) ||
+               method.isAnnotationPresent(PatchMapping.class);
+    }
+
+    private static String extractHttpMethod(Method method) {
+        if (method.isAnnotationPresent(GetMapping.class)) return "GET";
+        if (method.isAnnotationPresent(PostMapping.class)) return "POST";
+        if (method.isAnnotationPresent(PutMapping.class)) return "PUT";
+        if (method.isAnnotationPresent(DeleteMapping.class)) return "DELETE";
+        if (method.isAnnotationPresent(PatchMapping.class)) return "PATCH";
+
+        if (method.isAnnotationPresent(RequestMapping.class)) {
+            RequestMapping mapping = method.getAnnotation(RequestMapping.class);
+            if (mapping.method().length > 0) {
+                return mapping.method()[0].name();
+            }
+        }
+
+        return "GET";
+    }
+
+    private static String extractBaseUrl(Class<?> controllerClass) {
+        RequestMapping classMapping = controllerClass.getAnnotation(RequestMapping.class);
+        if (classMapping != null) {
+            if (classMapping.value().length > 0) return classMapping.value()[0];
+            if (classMapping.path().length > 0) return classMapping.path()[0];
+        }
+        return "";
+    }
+
+    private static String extractEndpointUrl(Method method) {
+        String[] urls = null;
+
+        if (method.isAnnotationPresent(GetMapping.class)) {
+            GetMapping mapping = method.getAnnotation(GetMapping.class);
+            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
+        } else if (method.isAnnotationPresent(PostMapping.class)) {
+            PostMapping mapping = method.getAnnotation(PostMapping.class);
+            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
+        } else if (method.isAnnotationPresent(PutMapping.class)) {
+            PutMapping mapping = method.getAnnotation(PutMapping.class);
+            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
+        } else if (method.isAnnotationPresent(DeleteMapping.class)) {
+            DeleteMapping mapping = method.getAnnotation(DeleteMapping.class);
+            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
+        } else if (method.isAnnotationPresent(PatchMapping.class)) {
+            PatchMapping mapping = method.getAnnotation(PatchMapping.class);
+            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
+        } else if (method.isAnnotationPresent(RequestMapping.class)) {
+            RequestMapping mapping = method.getAnnotation(RequestMapping.class);
+            urls = mapping.value().length > 0 ? mapping.value() : mapping.path();
+        }
+
+        return (urls != null && urls.length > 0) ? urls[0] : "";
+    }
+
+    private static String combineUrls(String baseUrl, String endpointUrl) {
+        if (baseUrl.isEmpty()) return endpointUrl;
+        if (endpointUrl.isEmpty()) return baseUrl;
+
+        StringBuilder combined = new StringBuilder(baseUrl);
+        if (!baseUrl.endsWith("/") && !endpointUrl.startsWith("/")) {
+            combined.append("/");
+        }
+        if (baseUrl.endsWith("/") && endpointUrl.startsWith("/")) {
+            combined.deleteCharAt(combined.length() - 1);
+        }
+        combined.append(endpointUrl);
+
+        return combined.toString();
+    }
+}
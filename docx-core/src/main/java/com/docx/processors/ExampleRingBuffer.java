@@ -0,0 +1,77 @@
+package com.docx.processors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity buffer of the latest examples of one endpoint. Writers claim a slot with a
+ * single atomic increment and overwrite the oldest example, so adding never blocks or shifts.
+ */
+final class ExampleRingBuffer {
+
+    // Rough heap cost of a String beyond its characters, and of the buffer itself per slot
+    private static final long STRING_OVERHEAD_BYTES = 56;
+    private static final long SLOT_BYTES = 8;
+
+    private final AtomicReferenceArray<String> slots;
+    private final AtomicLong writeIndex = new AtomicLong();
+
+    ExampleRingBuffer(int capacity) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    /**
+     * Stores {@code example} and returns the example it overwrote, if any.
+     */
+    String add(String example) {
+        long index = writeIndex.getAndIncrement();
+        return slots.getAndSet((int) (index % slots.length()), example);
+    }
+
+    boolean contains(String example) {
+        for (int i = 0; i < slots.length(); i++) {
+            if (example.equals(slots.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estimated heap footprint of the buffer and its examples.
+     */
+    long estimatedBytes() {
+        long bytes = slots.length() * SLOT_BYTES;
+        for (int i = 0; i < slots.length(); i++) {
+            String example = slots.get(i);
+            if (example != null) {
+                bytes += estimatedBytes(example);
+            }
+        }
+        return bytes;
+    }
+
+    static long estimatedBytes(String value) {
+        // Latin-1 strings are stored compactly, one byte per character
+        return STRING_OVERHEAD_BYTES + value.length();
+    }
+
+    /**
+     * Returns the buffered examples, oldest first. Slots claimed by a writer that has not
+     * stored its example yet are skipped.
+     */
+    List<String> snapshot() {
+        long end = writeIndex.get();
+        long start = Math.max(0, end - slots.length());
+        List<String> examples = new ArrayList<>((int) (end - start));
+        for (long index = start; index < end; index++) {
+            String example = slots.get((int) (index % slots.length()));
+            if (example != null) {
+                examples.add(example);
+            }
+        }
+        return examples;
+    }
+}
@@ -0,0 +1,142 @@
+package com.docx.processors;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which controller calls {@link AopExampleGenerator} records. The decision only
+ * looks at the invoked {@link Method} and a thread-local random, so calls that are not
+ * sampled return before any annotation lookup or string building.
+ */
+public class ExampleSampler {
+
+    /**
+     * How calls are sampled.
+     */
+    public enum Mode {
+        /** Record every call. */
+        ALL,
+        /** Record each call with a fixed probability. */
+        RATE,
+        /** Record up to a number of calls per second and endpoint, allowing short bursts. */
+        TOKEN_BUCKET,
+        /** Record the first calls of each endpoint, then one in every so many. */
+        FIRST_N
+    }
+
+    private volatile Mode mode = Mode.ALL;
+    private volatile double rate = 0.1;
+    private volatile double tokensPerSecond = 1.0;
+    private volatile int burst = 10;
+    private volatile int firstN = 10;
+    private volatile int thenOneIn = 100;
+
+    private final Map<Method, AtomicLong> endpointState = new ConcurrentHashMap<>();
+
+    /**
+     * Returns whether the current call of {@code method} should be recorded.
+     */
+    public boolean shouldSample(Method method) {
+        switch (mode) {
+            case RATE:
+                return ThreadLocalRandom.current().nextDouble() < rate;
+            case TOKEN_BUCKET:
+                return tryAcquireToken(state(method));
+            case FIRST_N:
+                long count = state(method).incrementAndGet();
+                return count <= firstN || ThreadLocalRandom.current().nextInt(Math.max(1, thenOneIn)) == 0;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Generic cell rate algorithm: the state holds the theoretical arrival time of the next
+     * token, and a call is admitted while that time is at most {@code burst} intervals ahead.
+     */
+    private boolean tryAcquireToken(AtomicLong theoreticalArrival) {
+        if (tokensPerSecond <= 0) {
+            return false;
+        }
+        long interval = (long) (1_000_000_000L / tokensPerSecond);
+        long tolerance = interval * Math.max(1, burst);
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + interval;
+            if (next - now > tolerance) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    private AtomicLong state(Method method) {
+        AtomicLong state = endpointState.get(method);
+        if (state == null) {
+            state = endpointState.computeIfAbsent(method, m -> new AtomicLong(mode == Mode.TOKEN_BUCKET ? Long.MIN_VALUE / 2 : 0));
+        }
+        return state;
+    }
+
+    /**
+     * Forgets the per-endpoint counters and buckets.
+     */
+    public void reset() {
+        endpointState.clear();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode != null ? mode : Mode.ALL;
+        reset();
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public double getTokensPerSecond() {
+        return tokensPerSecond;
+    }
+
+    public void setTokensPerSecond(double tokensPerSecond) {
+        this.tokensPerSecond = tokensPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    public int getFirstN() {
+        return firstN;
+    }
+
+    public void setFirstN(int firstN) {
+        this.firstN = firstN;
+    }
+
+    public int getThenOneIn() {
+        return thenOneIn;
+    }
+
+    public void setThenOneIn(int thenOneIn) {
+        this.thenOneIn = thenOneIn;
+    }
+}
@@ -0,0 +1,95 @@
+package com.docx.processors;
+
+import com.docx.models.ControllerDoc;
+import com.docx.models.EndpointDoc;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Builds controller documentation from the handler methods Spring MVC has already
+ * registered in {@link RequestMappingHandlerMapping}, instead of scanning the classpath.
+ * This also covers meta-annotated and inherited request mappings.
+ */
+public class HandlerMappingControllerDiscoverer {
+
+    private static final Logger logger = LoggerFactory.getLogger(HandlerMappingControllerDiscoverer.class);
+
+    private static final String HANDLER_MAPPING_CLASS =
+            "org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping";
+    // Documented for mappings without a method restriction, which accept any method
+    private static final List<String> UNRESTRICTED_METHODS = List.of("GET", "POST", "PUT", "PATCH", "DELETE");
+
+    private final SpringAnnotationProcessor annotationProcessor;
+
+    public HandlerMappingControllerDiscoverer(SpringAnnotationProcessor annotationProcessor) {
+        this.annotationProcessor = annotationProcessor;
+    }
+
+    public static boolean isAvailable(ClassLoader classLoader) {
+        return ClassUtils.isPresent(HANDLER_MAPPING_CLASS, classLoader);
+    }
+
+    public List<ControllerDoc> discover(ApplicationContext applicationContext, Predicate<Class<?>> controllerFilter) {
+        Map<Class<?>, List<EndpointDoc>> endpointsByController = new TreeMap<>(Comparator.comparing(Class::getName));
+
+        Map<String, RequestMappingHandlerMapping> handlerMappings =
+                applicationContext.getBeansOfType(RequestMappingHandlerMapping.class);
+        logger.debug("Found {} RequestMappingHandlerMapping beans", handlerMappings.size());
+
+        for (RequestMappingHandlerMapping handlerMapping : handlerMappings.values()) {
+            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+                HandlerMethod handlerMethod = entry.getValue();
+                Class<?> controllerClass = ClassUtils.getUserClass(handlerMethod.getBeanType());
+                if (!controllerFilter.test(controllerClass)) {
+                    continue;
+                }
+
+                // One endpoint per method and pattern, as registered
+                RequestMappingInfo mappingInfo = entry.getKey();
+                List<EndpointDoc> endpoints = endpointsByController.computeIfAbsent(controllerClass, k -> new ArrayList<>());
+                for (String url : extractUrls(mappingInfo)) {
+                    for (String httpMethod : extractHttpMethods(mappingInfo)) {
+                        endpoints.add(annotationProcessor.processEndpoint(handlerMethod.getMethod(), httpMethod, url));
+                    }
+                }
+            }
+        }
+
+        List<ControllerDoc> controllers = new ArrayList<>();
+        endpointsByController.forEach((controllerClass, endpoints) -> {
+            endpoints.sort(Comparator.comparing(EndpointDoc::getUrl).thenComparing(EndpointDoc::getHttpMethod));
+            ControllerDoc controllerDoc = annotationProcessor.createControllerDoc(controllerClass);
+            controllerDoc.setEndpoints(endpoints);
+            controllers.add(controllerDoc);
+        });
+
+        logger.info("Discovered {} controllers from registered request mappings", controllers.size());
+        return controllers;
+    }
+
+    private List<String> extractHttpMethods(RequestMappingInfo mappingInfo) {
+        Set<RequestMethod> methods = mappingInfo.getMethodsCondition().getMethods();
+        if (methods.isEmpty()) {
+            return UNRESTRICTED_METHODS;
+        }
+        List<String> names = new ArrayList<>();
+        for (RequestMethod method : new TreeSet<>(methods)) {
+            names.add(method.name());
+        }
+        return names;
+    }
+
+    private Set<String> extractUrls(RequestMappingInfo mappingInfo) {
+        Set<String> patterns = mappingInfo.getPatternValues();
+        return patterns.isEmpty() ? Set.of("") : new TreeSet<>(patterns);
+    }
+}
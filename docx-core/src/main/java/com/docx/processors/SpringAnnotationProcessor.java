@@ -2,19 +2,35 @@ package com.docx.processors;
 
 import com.docx.models.*;
 import com.docx.parsers.JavaDocParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @org.springframework.stereotype.Component
 public class SpringAnnotationProcessor {
 
+    private static final Logger logger = LoggerFactory.getLogger(SpringAnnotationProcessor.class);
+
+    private static final Pattern TYPE_NAME = Pattern.compile("[A-Za-z_$][\\w$]*");
+    private static final List<String> LIBRARY_PACKAGES = List.of(
+            "java.", "javax.", "jakarta.", "org.springframework.", "reactor.", "com.fasterxml.", "kotlin.");
+    private static final Set<String> REQUIRED_CONSTRAINTS = Set.of("NotNull", "NotBlank", "NotEmpty");
+
     private final JavaDocParser javaDocParser;
     private final ValidationConstraintParser validationParser;
+    // Request and response models seen since the last clearModels(), keyed by the simple
+    // name schemas are referenced by; on a clash the first one wins and a warning is logged
+    private final Map<String, ModelDoc> models = new ConcurrentHashMap<>();
+    private final Set<String> reportedClashes = ConcurrentHashMap.newKeySet();
 
     public SpringAnnotationProcessor() {
         this.javaDocParser = new JavaDocParser();
@@ -27,6 +43,25 @@ public class SpringAnnotationProcessor {
     }
 
     public ControllerDoc processController(Class<?> controllerClass) {
+        ControllerDoc controllerDoc = createControllerDoc(controllerClass);
+        String baseUrl = controllerDoc.getBaseUrl();
+        
+        // Process endpoints
+        List<EndpointDoc> endpoints = Arrays.stream(controllerClass.getDeclaredMethods())
+            .filter(this::isEndpointMethod)
+            .map(method -> processEndpoint(method, baseUrl))
+            .collect(Collectors.toList());
+        
+        controllerDoc.setEndpoints(endpoints);
+        
+        return controllerDoc;
+    }
+
+    /**
+     * Creates the controller documentation without endpoints, for callers that
+     * resolve the handler methods themselves.
+     */
+    public ControllerDoc createControllerDoc(Class<?> controllerClass) {
         String className = controllerClass.getSimpleName();
         String fullClassName = controllerClass.getName();
         
@@ -46,14 +81,6 @@ public class SpringAnnotationProcessor {
             controllerDoc.setVersion(parsedJavaDoc.getVersion());
         }
         
-        // Process endpoints
-        List<EndpointDoc> endpoints = Arrays.stream(controllerClass.getDeclaredMethods())
-            .filter(this::isEndpointMethod)
-            .map(method -> processEndpoint(method, baseUrl))
-            .collect(Collectors.toList());
-        
-        controllerDoc.setEndpoints(endpoints);
-        
         return controllerDoc;
     }
 
@@ -78,13 +105,21 @@ public class SpringAnnotationProcessor {
     }
 
     private EndpointDoc processEndpoint(Method method, String baseUrl) {
-        String methodName = method.getName();
-        
         // Extract HTTP method and URL
         HttpMethodInfo httpMethodInfo = extractHttpMethodInfo(method);
         String fullUrl = combineUrls(baseUrl, httpMethodInfo.url);
         
-        EndpointDoc endpointDoc = new EndpointDoc(methodName, httpMethodInfo.method, fullUrl);
+        return processEndpoint(method, httpMethodInfo.method, fullUrl);
+    }
+
+    /**
+     * Documents a handler method whose HTTP method and full URL are already known,
+     * e.g. from Spring's request mapping registry.
+     */
+    public EndpointDoc processEndpoint(Method method, String httpMethod, String fullUrl) {
+        String methodName = method.getName();
+        
+        EndpointDoc endpointDoc = new EndpointDoc(methodName, httpMethod, fullUrl);
         
         // Process JavaDoc
         String methodJavaDoc = extractJavaDocFromMethod(method);
@@ -109,10 +144,13 @@ public class SpringAnnotationProcessor {
         
         // Process response type
         processResponseType(method, endpointDoc);
+
+        // Document the request and response models for getModels
+        registerModels(method);
         
         // Auto-generate response codes if not manually specified
         if (endpointDoc.getResponses() == null || endpointDoc.getResponses().isEmpty()) {
-            generateDefaultResponses(endpointDoc, httpMethodInfo.method);
+            generateDefaultResponses(endpointDoc, httpMethod);
         }
         
         return endpointDoc;
@@ -202,8 +240,8 @@ public class SpringAnnotationProcessor {
     }
 
     private ParameterDoc createParameterDoc(Parameter parameter) {
-        String name = parameter.getName();
-        String type = parameter.getType().getSimpleName();
+        String name = getParameterName(parameter);
+        String type = getTypeDescription(parameter.getParameterizedType());
         
         ParameterDoc paramDoc = new ParameterDoc(name, type, "");
         
@@ -214,15 +252,45 @@ public class SpringAnnotationProcessor {
         // Check if required based on annotations
         if (parameter.isAnnotationPresent(RequestParam.class)) {
             RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
-            paramDoc.setRequired(requestParam.required());
-            if (!requestParam.defaultValue().equals(ValueConstants.DEFAULT_NONE)) {
+            boolean hasDefault = !requestParam.defaultValue().equals(ValueConstants.DEFAULT_NONE);
+            // Spring treats a parameter with a default value as optional
+            paramDoc.setRequired(requestParam.required() && !hasDefault);
+            if (hasDefault) {
                 paramDoc.setDefaultValue(requestParam.defaultValue());
             }
         }
+        if (parameter.isAnnotationPresent(RequestBody.class)) {
+            paramDoc.setRequired(parameter.getAnnotation(RequestBody.class).required());
+        }
         
         return paramDoc;
     }
 
+    /**
+     * Returns the request name of a parameter, which {@code @PathVariable} and
+     * {@code @RequestParam} may set independently of the Java name.
+     */
+    private String getParameterName(Parameter parameter) {
+        PathVariable pathVariable = parameter.getAnnotation(PathVariable.class);
+        if (pathVariable != null) {
+            return firstNonEmpty(pathVariable.value(), pathVariable.name(), parameter.getName());
+        }
+        RequestParam requestParam = parameter.getAnnotation(RequestParam.class);
+        if (requestParam != null) {
+            return firstNonEmpty(requestParam.value(), requestParam.name(), parameter.getName());
+        }
+        return parameter.getName();
+    }
+
+    private String firstNonEmpty(String... values) {
+        for (String value : values) {
+            if (!value.isEmpty()) {
+                return value;
+            }
+        }
+        return values[values.length - 1];
+    }
+
     private void processResponseType(Method method, EndpointDoc endpointDoc) {
         Type returnType = method.getGenericReturnType();
         String responseType = getTypeDescription(returnType);
@@ -255,6 +323,129 @@ public class SpringAnnotationProcessor {
         return type.toString();
     }
 
+    /**
+     * Forgets the models registered so far. Called before each scan, so that refreshed
+     * documentation picks up changed models and no longer holds on to old classes.
+     */
+    public void clearModels() {
+        models.clear();
+        reportedClashes.clear();
+    }
+
+    /**
+     * Returns the models that the request and response types of the given controllers
+     * use, directly or through their fields, sorted by name. Only models of endpoints
+     * processed by this instance since the last {@link #clearModels()} are known.
+     */
+    public List<ModelDoc> getModels(Collection<ControllerDoc> controllers) {
+        Deque<String> pending = new ArrayDeque<>();
+        for (ControllerDoc controller : controllers) {
+            if (controller == null || controller.getEndpoints() == null) {
+                continue;
+            }
+            for (EndpointDoc endpoint : controller.getEndpoints()) {
+                if (endpoint.getRequestBody() != null) {
+                    addTypeNames(endpoint.getRequestBody().getType(), pending);
+                }
+                if (endpoint.getResponseBody() != null) {
+                    addTypeNames(endpoint.getResponseBody().getType(), pending);
+                }
+                if (endpoint.getResponses() != null) {
+                    endpoint.getResponses().forEach(response -> addTypeNames(response.getType(), pending));
+                }
+            }
+        }
+
+        Map<String, ModelDoc> referenced = new TreeMap<>();
+        while (!pending.isEmpty()) {
+            ModelDoc model = models.get(pending.pop());
+            if (model != null && referenced.putIfAbsent(model.getName(), model) == null) {
+                model.getFields().forEach(field -> addTypeNames(field.getType(), pending));
+            }
+        }
+        return new ArrayList<>(referenced.values());
+    }
+
+    private void addTypeNames(String typeDescription, Deque<String> names) {
+        if (typeDescription == null) {
+            return;
+        }
+        Matcher matcher = TYPE_NAME.matcher(typeDescription);
+        while (matcher.find()) {
+            names.push(matcher.group());
+        }
+    }
+
+    private void registerModels(Method method) {
+        for (Parameter parameter : method.getParameters()) {
+            if (parameter.isAnnotationPresent(RequestBody.class)) {
+                registerModels(parameter.getParameterizedType(), new HashSet<>());
+            }
+        }
+        registerModels(method.getGenericReturnType(), new HashSet<>());
+    }
+
+    private void registerModels(Type type, Set<Class<?>> visiting) {
+        if (type instanceof ParameterizedType parameterizedType) {
+            registerModels(parameterizedType.getRawType(), visiting);
+            for (Type typeArgument : parameterizedType.getActualTypeArguments()) {
+                registerModels(typeArgument, visiting);
+            }
+        } else if (type instanceof GenericArrayType arrayType) {
+            registerModels(arrayType.getGenericComponentType(), visiting);
+        } else if (type instanceof WildcardType wildcardType) {
+            for (Type upperBound : wildcardType.getUpperBounds()) {
+                registerModels(upperBound, visiting);
+            }
+        } else if (type instanceof Class<?> clazz) {
+            if (clazz.isArray()) {
+                registerModels(clazz.getComponentType(), visiting);
+            } else if (isModelClass(clazz)) {
+                ModelDoc registered = models.get(clazz.getSimpleName());
+                if (registered != null) {
+                    if (!registered.getClassName().equals(clazz.getName()) && reportedClashes.add(clazz.getName())) {
+                        logger.warn("Models {} and {} share the name {}; only the first is documented",
+                                registered.getClassName(), clazz.getName(), clazz.getSimpleName());
+                    }
+                } else if (visiting.add(clazz)) {
+                    models.putIfAbsent(clazz.getSimpleName(), createModelDoc(clazz, visiting));
+                }
+            }
+        }
+    }
+
+    private ModelDoc createModelDoc(Class<?> modelClass, Set<Class<?>> visiting) {
+        ModelDoc modelDoc = new ModelDoc(modelClass.getSimpleName(), modelClass.getName());
+        modelDoc.setPackageName(modelClass.getPackageName());
+
+        List<FieldDoc> fields = new ArrayList<>();
+        for (Class<?> current = modelClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                FieldDoc fieldDoc = new FieldDoc(field.getName(), getTypeDescription(field.getGenericType()), "");
+                List<ValidationConstraint> constraints = validationParser.parseConstraints(field);
+                fieldDoc.setConstraints(constraints);
+                fieldDoc.setRequired(constraints.stream().anyMatch(c -> REQUIRED_CONSTRAINTS.contains(c.getName())));
+                fields.add(fieldDoc);
+                registerModels(field.getGenericType(), visiting);
+            }
+        }
+        modelDoc.setFields(fields);
+        return modelDoc;
+    }
+
+    private boolean isModelClass(Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.isEnum() || clazz.isInterface() || clazz.isAnnotation()
+                || clazz.isAnonymousClass() || clazz.getSimpleName().isEmpty()) {
+            return false;
+        }
+        String className = clazz.getName();
+        return LIBRARY_PACKAGES.stream().noneMatch(className::startsWith);
+    }
+
     private void generateDefaultResponses(EndpointDoc endpointDoc, String httpMethod) {
         List<ResponseDoc> responses = new ArrayList<>();
         
@@ -0,0 +1,596 @@
+package com.docx.search;
+
+import com.docx.models.ApiDocumentation;
+import com.docx.models.ControllerDoc;
+import com.docx.models.EndpointDoc;
+
+import java.util.*;
+
+/**
+ * In-memory search index over the endpoints of a documentation snapshot, answering
+ * ranked queries with exact, prefix and fuzzy term matches.
+ * <p>
+ * Terms are stored sorted in a character trie whose nodes cover contiguous term
+ * ranges, so a prefix resolves to one range and fuzzy matching walks the trie with
+ * a bounded Levenshtein row. Tokenizing is done per controller; when the index is
+ * rebuilt after a refresh, controllers whose searchable text did not change reuse
+ * their previous segment and only the merge is repeated.
+ */
+public final class EndpointSearchIndex {
+
+    static final int NAME_WEIGHT = 8;
+    static final int URL_WEIGHT = 6;
+    static final int TAG_WEIGHT = 4;
+    static final int CONTROLLER_WEIGHT = 3;
+    static final int METHOD_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final float PREFIX_QUALITY = 0.6f;
+    private static final float FUZZY_QUALITY = 0.3f;
+    private static final int MAX_PREFIX_EXPANSIONS = 128;
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int MAX_TERM_LENGTH = 64;
+    // Shared by all indexes, so replaced indexes leave nothing behind in worker threads
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<>();
+
+    private final Map<String, Segment> segments;
+    private final ControllerDoc[] controllers;
+    private final EndpointDoc[] endpoints;
+    private final int[] endpointIndexes;
+    private final String[] terms;
+    private final int[][] postings;
+    private final Node root;
+    private final int reusedSegments;
+
+    private EndpointSearchIndex(Map<String, Segment> segments, ControllerDoc[] controllers, EndpointDoc[] endpoints,
+                                int[] endpointIndexes, String[] terms, int[][] postings, int reusedSegments) {
+        this.segments = segments;
+        this.controllers = controllers;
+        this.endpoints = endpoints;
+        this.endpointIndexes = endpointIndexes;
+        this.terms = terms;
+        this.postings = postings;
+        this.root = Node.build(terms, 0, terms.length, 0);
+        this.reusedSegments = reusedSegments;
+    }
+
+    public static EndpointSearchIndex build(ApiDocumentation apiDoc) {
+        return build(apiDoc, null);
+    }
+
+    /**
+     * Builds the index for {@code apiDoc}, reusing the tokenized segments of
+     * {@code previous} for controllers whose searchable text is unchanged.
+     */
+    public static EndpointSearchIndex build(ApiDocumentation apiDoc, EndpointSearchIndex previous) {
+        List<ControllerDoc> controllerDocs = apiDoc.getControllers() != null ? apiDoc.getControllers() : List.of();
+        Map<String, Segment> segments = new LinkedHashMap<>();
+        List<ControllerDoc> controllers = new ArrayList<>();
+        List<EndpointDoc> endpoints = new ArrayList<>();
+        List<Integer> endpointIndexes = new ArrayList<>();
+        Map<String, List<int[]>> termPostings = new TreeMap<>();
+        int reused = 0;
+
+        for (ControllerDoc controller : controllerDocs) {
+            String key = controller.getClassName() + "#" + controller.getName();
+            if (segments.containsKey(key) || controller.getEndpoints() == null) {
+                continue;
+            }
+            long fingerprint = fingerprint(controller);
+            Segment segment = previous != null ? previous.segments.get(key) : null;
+            if (segment != null && segment.fingerprint == fingerprint) {
+                reused++;
+            } else {
+                segment = Segment.tokenize(controller, fingerprint);
+            }
+            segments.put(key, segment);
+
+            int offset = endpoints.size();
+            for (int i = 0; i < controller.getEndpoints().size(); i++) {
+                controllers.add(controller);
+                endpoints.add(controller.getEndpoints().get(i));
+                endpointIndexes.add(i);
+            }
+            for (Map.Entry<String, int[]> entry : segment.postings.entrySet()) {
+                termPostings.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(shift(entry.getValue(), offset));
+            }
+        }
+
+        String[] terms = termPostings.keySet().toArray(new String[0]);
+        int[][] postings = new int[terms.length][];
+        int t = 0;
+        for (List<int[]> parts : termPostings.values()) {
+            postings[t++] = concat(parts);
+        }
+        return new EndpointSearchIndex(segments, controllers.toArray(new ControllerDoc[0]),
+                endpoints.toArray(new EndpointDoc[0]), endpointIndexes.stream().mapToInt(Integer::intValue).toArray(),
+                terms, postings, reused);
+    }
+
+    /**
+     * Runs a query and returns the hits ranked {@code offset} to {@code offset + limit}.
+     * Every query term must match an endpoint, exactly, as a prefix or, when
+     * {@code fuzzy} is set, within one edit (two for terms of eight characters or more).
+     */
+    public SearchResults search(String query, int offset, int limit, boolean fuzzy) {
+        List<String> queryTerms = queryTerms(query);
+        if (queryTerms.isEmpty() || endpoints.length == 0) {
+            return new SearchResults(query, offset, limit, 0, List.of());
+        }
+
+        Scratch scratch = scratch(endpoints.length);
+        try {
+            return search(query, queryTerms, offset, limit, fuzzy, scratch);
+        } catch (RuntimeException e) {
+            // The buffers may not have been cleared
+            SCRATCH.remove();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns this thread's buffers, replacing them when they are smaller than the index.
+     */
+    private static Scratch scratch(int endpointCount) {
+        Scratch scratch = SCRATCH.get();
+        if (scratch == null || scratch.scores.length < endpointCount) {
+            scratch = new Scratch(endpointCount);
+            SCRATCH.set(scratch);
+        }
+        return scratch;
+    }
+
+    private SearchResults search(String query, List<String> queryTerms, int offset, int limit, boolean fuzzy,
+                                 Scratch scratch) {
+        float[] scores = scratch.scores;
+        float[] termScores = scratch.termScores;
+        int[] candidates = scratch.candidates;
+        int[] matched = scratch.matched;
+        int candidateCount = 0;
+        boolean first = true;
+        for (String queryTerm : queryTerms) {
+            int matchedCount = 0;
+            for (TermMatch match : expand(queryTerm, fuzzy)) {
+                int[] termPostings = postings[match.term];
+                for (int p = 0; p < termPostings.length; p += 2) {
+                    int document = termPostings[p];
+                    float score = termPostings[p + 1] * match.quality;
+                    if (score > termScores[document]) {
+                        if (termScores[document] == 0) {
+                            matched[matchedCount++] = document;
+                        }
+                        termScores[document] = score;
+                    }
+                }
+            }
+
+            if (first) {
+                for (int m = 0; m < matchedCount; m++) {
+                    int document = matched[m];
+                    scores[document] = termScores[document];
+                    candidates[candidateCount++] = document;
+                }
+                first = false;
+            } else {
+                int kept = 0;
+                for (int c = 0; c < candidateCount; c++) {
+                    int document = candidates[c];
+                    if (termScores[document] > 0) {
+                        scores[document] += termScores[document];
+                        candidates[kept++] = document;
+                    } else {
+                        scores[document] = 0;
+                    }
+                }
+                candidateCount = kept;
+            }
+            for (int m = 0; m < matchedCount; m++) {
+                termScores[matched[m]] = 0;
+            }
+            if (candidateCount == 0) {
+                break;
+            }
+        }
+
+        List<SearchHit> hits = topHits(scores, candidates, candidateCount, offset, limit);
+        for (int c = 0; c < candidateCount; c++) {
+            scores[candidates[c]] = 0;
+        }
+        return new SearchResults(query, offset, limit, candidateCount, hits);
+    }
+
+    private List<SearchHit> topHits(float[] scores, int[] candidates, int candidateCount, int offset, int limit) {
+        if (offset >= candidateCount || limit <= 0) {
+            return List.of();
+        }
+        // Min-heap of the best `window` documents, so ranking costs O(n log window)
+        int window = Math.min(offset + limit, candidateCount);
+        int[] heap = new int[window];
+        int size = 0;
+        for (int c = 0; c < candidateCount; c++) {
+            int document = candidates[c];
+            if (size < window) {
+                heap[size] = document;
+                siftUp(heap, size++, scores);
+            } else if (ranksBefore(document, heap[0], scores)) {
+                heap[0] = document;
+                siftDown(heap, size, scores);
+            }
+        }
+
+        int[] ranked = new int[size];
+        for (int r = size - 1; r >= 0; r--) {
+            ranked[r] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+        }
+
+        List<SearchHit> hits = new ArrayList<>(ranked.length - offset);
+        for (int r = offset; r < ranked.length; r++) {
+            int document = ranked[r];
+            ControllerDoc controller = controllers[document];
+            hits.add(new SearchHit(controller.getName(),
+                    SearchIndex.endpointId(controller, endpoints[document], endpointIndexes[document]),
+                    scores[document], endpoints[document]));
+        }
+        return hits;
+    }
+
+    /**
+     * Higher scores rank first; ties keep documentation order.
+     */
+    private static boolean ranksBefore(int document, int other, float[] scores) {
+        return scores[document] > scores[other] || (scores[document] == scores[other] && document < other);
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], heap[index], scores)) {
+                break;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int index = 0;
+        while (true) {
+            int weakest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && ranksBefore(heap[weakest], heap[left], scores)) {
+                weakest = left;
+            }
+            if (right < size && ranksBefore(heap[weakest], heap[right], scores)) {
+                weakest = right;
+            }
+            if (weakest == index) {
+                return;
+            }
+            swap(heap, index, weakest);
+            index = weakest;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    private List<TermMatch> expand(String queryTerm, boolean fuzzy) {
+        List<TermMatch> matches = new ArrayList<>();
+        Node node = root.find(queryTerm);
+        if (node != null) {
+            int expansions = 0;
+            for (int t = node.from; t < node.to && expansions < MAX_PREFIX_EXPANSIONS; t++, expansions++) {
+                matches.add(new TermMatch(t, t == node.term ? 1f
+                        : PREFIX_QUALITY * queryTerm.length() / terms[t].length() + (1 - PREFIX_QUALITY) / 2));
+            }
+        }
+        int maxEdits = queryTerm.length() >= 8 ? 2 : queryTerm.length() >= 4 ? 1 : 0;
+        if (fuzzy && maxEdits > 0) {
+            // One Levenshtein row per trie depth; rows never go deeper than the query plus maxEdits
+            int[][] rows = new int[queryTerm.length() + maxEdits + 2][queryTerm.length() + 1];
+            for (int i = 0; i < rows[0].length; i++) {
+                rows[0][i] = i;
+            }
+            root.collectFuzzy(queryTerm, rows, 0, maxEdits, (term, distance) ->
+                    matches.add(new TermMatch(term, FUZZY_QUALITY / distance)));
+        }
+        return matches;
+    }
+
+    private static List<String> queryTerms(String query) {
+        List<String> queryTerms = new ArrayList<>();
+        if (query == null) {
+            return queryTerms;
+        }
+        for (String term : SearchTokenizer.tokenizeQuery(query)) {
+            if (queryTerms.size() == MAX_QUERY_TERMS) {
+                break;
+            }
+            queryTerms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+        }
+        return queryTerms;
+    }
+
+    public int getEndpointCount() {
+        return endpoints.length;
+    }
+
+    public int getTermCount() {
+        return terms.length;
+    }
+
+    /**
+     * Returns how many controller segments were taken over from the previous index.
+     */
+    public int getReusedSegments() {
+        return reusedSegments;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Tokenizes every searchable field of an endpoint. This decides what is searchable
+     * both here and in the page's {@link SearchIndex}; {@link #fingerprint(ControllerDoc)}
+     * must hash the same fields.
+     */
+    static void forEachTerm(ControllerDoc controller, EndpointDoc endpoint, TermConsumer consumer) {
+        addTerms(controller.getName(), CONTROLLER_WEIGHT, consumer);
+        addTerms(controller.getTags(), CONTROLLER_WEIGHT, consumer);
+        addTerms(endpoint.getDescription(), DESCRIPTION_WEIGHT, consumer);
+        addTerms(endpoint.getApiDescription(), DESCRIPTION_WEIGHT, consumer);
+        addTerms(endpoint.getHttpMethod(), METHOD_WEIGHT, consumer);
+        addTerms(endpoint.getTags(), TAG_WEIGHT, consumer);
+        addTerms(endpoint.getUrl(), URL_WEIGHT, consumer);
+        addTerms(endpoint.getName(), NAME_WEIGHT, consumer);
+    }
+
+    private static void addTerms(List<String> values, int weight, TermConsumer consumer) {
+        if (values != null) {
+            values.forEach(value -> addTerms(value, weight, consumer));
+        }
+    }
+
+    private static void addTerms(String value, int weight, TermConsumer consumer) {
+        for (String term : SearchTokenizer.tokenize(value)) {
+            consumer.accept(term, weight);
+        }
+    }
+
+    /**
+     * Hashes every field the tokenizer reads (64-bit FNV-1a), so an unchanged hash
+     * means the controller's segment can be reused.
+     */
+    static long fingerprint(ControllerDoc controller) {
+        long hash = 0xcbf29ce484222325L;
+        hash = fingerprint(hash, controller.getName());
+        hash = fingerprint(hash, controller.getTags());
+        for (EndpointDoc endpoint : controller.getEndpoints()) {
+            hash = fingerprint(hash, endpoint.getName());
+            hash = fingerprint(hash, endpoint.getUrl());
+            hash = fingerprint(hash, endpoint.getHttpMethod());
+            hash = fingerprint(hash, endpoint.getDescription());
+            hash = fingerprint(hash, endpoint.getApiDescription());
+            hash = fingerprint(hash, endpoint.getTags());
+        }
+        return hash;
+    }
+
+    private static long fingerprint(long hash, List<String> values) {
+        if (values != null) {
+            for (String value : values) {
+                hash = fingerprint(hash, value);
+            }
+        }
+        return fingerprint(hash, (String) null);
+    }
+
+    private static long fingerprint(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+            }
+        }
+        // Field separator, so that "ab" + "c" and "a" + "bc" differ
+        return (hash ^ 0xffff) * 0x100000001b3L;
+    }
+
+    private static int[] shift(int[] localPostings, int offset) {
+        int[] shifted = localPostings.clone();
+        for (int p = 0; p < shifted.length; p += 2) {
+            shifted[p] += offset;
+        }
+        return shifted;
+    }
+
+    private static int[] concat(List<int[]> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        int length = 0;
+        for (int[] part : parts) {
+            length += part.length;
+        }
+        int[] result = new int[length];
+        int position = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, result, position, part.length);
+            position += part.length;
+        }
+        return result;
+    }
+
+    /**
+     * Per-thread query buffers, indexed by endpoint and at least as long as the index
+     * searched. Searches clear only the entries they touched, so a query costs O(matches)
+     * rather than O(endpoints) and does not allocate endpoint-sized arrays.
+     */
+    private static final class Scratch {
+
+        private final float[] scores;
+        private final float[] termScores;
+        private final int[] candidates;
+        private final int[] matched;
+
+        private Scratch(int endpointCount) {
+            this.scores = new float[endpointCount];
+            this.termScores = new float[endpointCount];
+            this.candidates = new int[endpointCount];
+            this.matched = new int[endpointCount];
+        }
+    }
+
+    private static final class TermMatch {
+
+        private final int term;
+        private final float quality;
+
+        private TermMatch(int term, float quality) {
+            this.term = term;
+            this.quality = quality;
+        }
+    }
+
+    /**
+     * Tokenized terms of one controller's endpoints. Postings interleave the endpoint
+     * position within the controller and the weight of the best field containing the term.
+     */
+    private static final class Segment {
+
+        private final long fingerprint;
+        private final Map<String, int[]> postings;
+
+        private Segment(long fingerprint, Map<String, int[]> postings) {
+            this.fingerprint = fingerprint;
+            this.postings = postings;
+        }
+
+        static Segment tokenize(ControllerDoc controller, long fingerprint) {
+            Map<String, List<Integer>> termPostings = new HashMap<>();
+            List<EndpointDoc> endpoints = controller.getEndpoints();
+            for (int i = 0; i < endpoints.size(); i++) {
+                EndpointDoc endpoint = endpoints.get(i);
+                Map<String, Integer> weights = new HashMap<>();
+                forEachTerm(controller, endpoint, (term, weight) -> weights.merge(term, weight, Math::max));
+                for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+                    List<Integer> pairs = termPostings.computeIfAbsent(weight.getKey(), k -> new ArrayList<>());
+                    pairs.add(i);
+                    pairs.add(weight.getValue());
+                }
+            }
+
+            Map<String, int[]> postings = new HashMap<>();
+            termPostings.forEach((term, pairs) -> postings.put(term, pairs.stream().mapToInt(Integer::intValue).toArray()));
+            return new Segment(fingerprint, postings);
+        }
+    }
+
+    /**
+     * Receives the terms of an endpoint with the weight of the field each came from.
+     */
+    interface TermConsumer {
+        void accept(String term, int weight);
+    }
+
+    private interface FuzzyMatchConsumer {
+        void accept(int term, int distance);
+    }
+
+    /**
+     * Trie node covering the sorted terms {@code from} to {@code to} that share its prefix.
+     */
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final int from;
+        private final int to;
+        private final int term;
+        private final char[] keys;
+        private final Node[] children;
+
+        private Node(int from, int to, int term, char[] keys, Node[] children) {
+            this.from = from;
+            this.to = to;
+            this.term = term;
+            this.keys = keys;
+            this.children = children;
+        }
+
+        static Node build(String[] terms, int from, int to, int depth) {
+            int term = -1;
+            int start = from;
+            if (start < to && terms[start].length() == depth) {
+                term = start++;
+            }
+            List<Character> keys = new ArrayList<>();
+            List<Node> children = new ArrayList<>();
+            while (start < to) {
+                char key = terms[start].charAt(depth);
+                int end = start + 1;
+                while (end < to && terms[end].charAt(depth) == key) {
+                    end++;
+                }
+                keys.add(key);
+                children.add(build(terms, start, end, depth + 1));
+                start = end;
+            }
+            if (keys.isEmpty()) {
+                return new Node(from, to, term, NO_KEYS, NO_CHILDREN);
+            }
+            char[] keyArray = new char[keys.size()];
+            for (int k = 0; k < keyArray.length; k++) {
+                keyArray[k] = keys.get(k);
+            }
+            return new Node(from, to, term, keyArray, children.toArray(NO_CHILDREN));
+        }
+
+        Node child(char key) {
+            int k = Arrays.binarySearch(keys, key);
+            return k >= 0 ? children[k] : null;
+        }
+
+        Node find(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            return node;
+        }
+
+        /**
+         * Reports terms within {@code maxEdits} of the query that are not exact matches,
+         * pruning subtrees whose best edit distance already exceeds the bound.
+         */
+        void collectFuzzy(String query, int[][] rows, int depth, int maxEdits, FuzzyMatchConsumer consumer) {
+            int[] row = rows[depth];
+            int[] next = rows[depth + 1];
+            for (int k = 0; k < keys.length; k++) {
+                next[0] = row[0] + 1;
+                int best = next[0];
+                for (int i = 1; i < row.length; i++) {
+                    int substitution = row[i - 1] + (query.charAt(i - 1) == keys[k] ? 0 : 1);
+                    next[i] = Math.min(substitution, Math.min(row[i] + 1, next[i - 1] + 1));
+                    best = Math.min(best, next[i]);
+                }
+                Node child = children[k];
+                int distance = next[row.length - 1];
+                if (child.term >= 0 && distance > 0 && distance <= maxEdits) {
+                    consumer.accept(child.term, distance);
+                }
+                // Below depth query length + maxEdits every distance exceeds the bound
+                if (best <= maxEdits) {
+                    child.collectFuzzy(query, rows, depth + 1, maxEdits, consumer);
+                }
+            }
+        }
+    }
+}
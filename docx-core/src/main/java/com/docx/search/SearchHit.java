@@ -0,0 +1,40 @@
+package com.docx.search;
+
+import com.docx.models.EndpointDoc;
+
+/**
+ * One ranked endpoint returned by {@link EndpointSearchIndex#search}.
+ */
+public class SearchHit {
+
+    private final String controller;
+    private final String id;
+    private final float score;
+    private final EndpointDoc endpoint;
+
+    public SearchHit(String controller, String id, float score, EndpointDoc endpoint) {
+        this.controller = controller;
+        this.id = id;
+        this.score = score;
+        this.endpoint = endpoint;
+    }
+
+    public String getController() {
+        return controller;
+    }
+
+    /**
+     * The endpoint's anchor id on the documentation page.
+     */
+    public String getId() {
+        return id;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public EndpointDoc getEndpoint() {
+        return endpoint;
+    }
+}
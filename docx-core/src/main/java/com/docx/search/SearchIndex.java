@@ -0,0 +1,138 @@
+package com.docx.search;
+
+import com.docx.models.ApiDocumentation;
+import com.docx.models.ControllerDoc;
+import com.docx.models.EndpointDoc;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Compact inverted index over the endpoints of a documentation snapshot. Terms are kept
+ * sorted so that all terms sharing a prefix form one contiguous range, found with a
+ * binary search; each term maps to the ascending ids of the endpoints containing it.
+ * Endpoint ids match the {@code Controller-endpoint-index} anchors used by the page.
+ */
+public final class SearchIndex {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private final List<String> documents;
+    private final String[] terms;
+    private final int[][] postings;
+
+    private SearchIndex(List<String> documents, String[] terms, int[][] postings) {
+        this.documents = documents;
+        this.terms = terms;
+        this.postings = postings;
+    }
+
+    public static SearchIndex build(ApiDocumentation apiDoc) {
+        List<String> documents = new ArrayList<>();
+        Map<String, List<Integer>> termPostings = new TreeMap<>();
+        if (apiDoc.getControllers() != null) {
+            for (ControllerDoc controller : apiDoc.getControllers()) {
+                if (controller.getEndpoints() == null) {
+                    continue;
+                }
+                for (int i = 0; i < controller.getEndpoints().size(); i++) {
+                    EndpointDoc endpoint = controller.getEndpoints().get(i);
+                    int documentId = documents.size();
+                    documents.add(endpointId(controller, endpoint, i));
+                    for (String term : endpointTerms(controller, endpoint)) {
+                        termPostings.computeIfAbsent(term, k -> new ArrayList<>()).add(documentId);
+                    }
+                }
+            }
+        }
+
+        String[] terms = termPostings.keySet().toArray(new String[0]);
+        int[][] postings = new int[terms.length][];
+        int t = 0;
+        for (List<Integer> documentIds : termPostings.values()) {
+            postings[t++] = documentIds.stream().mapToInt(Integer::intValue).toArray();
+        }
+        return new SearchIndex(Collections.unmodifiableList(documents), terms, postings);
+    }
+
+    /**
+     * Returns the anchor id the page uses for an endpoint.
+     */
+    public static String endpointId(ControllerDoc controller, EndpointDoc endpoint, int index) {
+        return controller.getName() + "-" + endpoint.getName() + "-" + index;
+    }
+
+    /**
+     * Collects the searchable terms of an endpoint: URL segments, endpoint and
+     * controller names, descriptions and tags. The fields are the same ones the
+     * server-side {@link EndpointSearchIndex} searches.
+     */
+    public static Set<String> endpointTerms(ControllerDoc controller, EndpointDoc endpoint) {
+        Set<String> terms = new LinkedHashSet<>();
+        EndpointSearchIndex.forEachTerm(controller, endpoint, (term, weight) -> terms.add(term));
+        return terms;
+    }
+
+    /**
+     * Returns the ids of endpoints containing a term that starts with {@code prefix}, in
+     * ascending order.
+     */
+    public int[] findByPrefix(String prefix) {
+        int from = lowerBound(prefix);
+        BitSet matches = new BitSet(documents.size());
+        for (int t = from; t < terms.length && terms[t].startsWith(prefix); t++) {
+            for (int documentId : postings[t]) {
+                matches.set(documentId);
+            }
+        }
+        return matches.stream().toArray();
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public List<String> getDocuments() {
+        return documents;
+    }
+
+    public int getTermCount() {
+        return terms.length;
+    }
+
+    /**
+     * Writes the index as {@code {"version", "documents", "terms", "postings"}}, where
+     * {@code postings[i]} lists the document positions for {@code terms[i]}.
+     */
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("version", FORMAT_VERSION);
+        generator.writeArrayFieldStart("documents");
+        for (String document : documents) {
+            generator.writeString(document);
+        }
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("terms");
+        for (String term : terms) {
+            generator.writeString(term);
+        }
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("postings");
+        for (int[] documentIds : postings) {
+            generator.writeArray(documentIds, 0, documentIds.length);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,43 @@
+package com.docx.search;
+
+import java.util.List;
+
+/**
+ * A page of search hits together with the total number of matching endpoints.
+ */
+public class SearchResults {
+
+    private final String query;
+    private final int offset;
+    private final int limit;
+    private final int total;
+    private final List<SearchHit> hits;
+
+    public SearchResults(String query, int offset, int limit, int total, List<SearchHit> hits) {
+        this.query = query;
+        this.offset = offset;
+        this.limit = limit;
+        this.total = total;
+        this.hits = hits;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<SearchHit> getHits() {
+        return hits;
+    }
+}
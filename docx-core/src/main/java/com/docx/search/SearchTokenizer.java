@@ -0,0 +1,61 @@
+package com.docx.search;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits documentation text into lower-case search terms. Words are split on anything
+ * that is not a letter or digit, and camel-case identifiers such as {@code getPetById}
+ * are indexed both whole and by their parts.
+ */
+public final class SearchTokenizer {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern CAMEL_CASE_BOUNDARY = Pattern.compile("(?<=[\\p{Ll}\\p{N}])(?=\\p{Lu})|(?<=\\p{Lu})(?=\\p{Lu}\\p{Ll})");
+
+    private SearchTokenizer() {
+    }
+
+    public static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        addTerms(text, terms);
+        return terms;
+    }
+
+    /**
+     * Adds the terms of {@code text} to {@code terms}; {@code null} text adds nothing.
+     */
+    public static void addTerms(String text, Set<String> terms) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        for (String word : WORD_SEPARATOR.split(text)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            terms.add(word.toLowerCase(Locale.ROOT));
+            String[] parts = CAMEL_CASE_BOUNDARY.split(word);
+            if (parts.length > 1) {
+                for (String part : parts) {
+                    terms.add(part.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits a search query into its distinct lower-case words, in order. Camel-case
+     * parts are not split off, since the index holds whole identifiers as well.
+     */
+    public static Set<String> tokenizeQuery(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATOR.split(query)) {
+            if (!word.isEmpty()) {
+                terms.add(word.toLowerCase(Locale.ROOT));
+            }
+        }
+        return terms;
+    }
+}
@@ -5,13 +5,17 @@ import com.docx.models.ControllerDoc;
 import com.docx.models.EndpointDoc;
 import com.docx.models.ParameterDoc;
 import com.docx.models.ResponseDoc;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Service for enhancing API documentation with additional features
@@ -25,130 +29,183 @@ public class ApiDocumentationService {
     /**
      * Converts API documentation to a template-ready format with proper
      * request body examples and enhanced parameter information.
+     *
+     * @deprecated builds the whole tree in memory; use {@link #writeTemplateJson}, whose
+     * output this method reads back, so both always have the same shape
      */
+    @Deprecated
     public Map<String, Object> convertToTemplateFormat(ApiDocumentation apiDoc) {
-        Map<String, Object> templateData = new HashMap<>();
-        
-        templateData.put("title", apiDoc.getTitle());
-        templateData.put("version", apiDoc.getVersion());
-        templateData.put("description", apiDoc.getDescription());
-        templateData.put("baseUrl", apiDoc.getBaseUrl());
-        
-        if (apiDoc.getControllers() != null) {
-            List<Map<String, Object>> controllers = apiDoc.getControllers().stream()
-                    .map(this::convertControllerToTemplateFormat)
-                    .collect(Collectors.toList());
-            templateData.put("controllers", controllers);
+        try (TokenBuffer buffer = new TokenBuffer(objectMapper, false)) {
+            writeTemplateJson(apiDoc, buffer);
+            return objectMapper.readValue(buffer.asParser(), new TypeReference<Map<String, Object>>() {});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        
-        return templateData;
     }
 
-    private Map<String, Object> convertControllerToTemplateFormat(ControllerDoc controller) {
-        Map<String, Object> controllerMap = new HashMap<>();
-        
-        controllerMap.put("name", controller.getName());
-        controllerMap.put("className", controller.getClassName());
-        controllerMap.put("description", controller.getDescription());
-        controllerMap.put("baseUrl", controller.getBaseUrl());
-        controllerMap.put("author", controller.getAuthor());
-        controllerMap.put("since", controller.getSince());
-        controllerMap.put("version", controller.getVersion());
-        controllerMap.put("tags", controller.getTags());
-        
-        if (controller.getEndpoints() != null) {
-            List<Map<String, Object>> endpoints = controller.getEndpoints().stream()
-                    .map(this::convertEndpointToTemplateFormat)
-                    .collect(Collectors.toList());
-            controllerMap.put("endpoints", endpoints);
+    /**
+     * Writes the documentation in the JSON shape the HTML template reads, straight from
+     * the model.
+     */
+    public void writeTemplateJson(ApiDocumentation apiDoc, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("title", apiDoc.getTitle());
+        generator.writeStringField("version", apiDoc.getVersion());
+        generator.writeStringField("description", apiDoc.getDescription());
+        generator.writeStringField("baseUrl", apiDoc.getBaseUrl());
+        if (apiDoc.getControllers() != null) {
+            generator.writeArrayFieldStart("controllers");
+            for (ControllerDoc controller : apiDoc.getControllers()) {
+                writeController(controller, generator);
+            }
+            generator.writeEndArray();
         }
-        
-        return controllerMap;
+        generator.writeEndObject();
     }
 
-    private Map<String, Object> convertEndpointToTemplateFormat(EndpointDoc endpoint) {
-        Map<String, Object> endpointMap = new HashMap<>();
-        
-        endpointMap.put("name", endpoint.getName());
-        endpointMap.put("description", endpoint.getDescription());
-        endpointMap.put("httpMethod", endpoint.getHttpMethod());
-        endpointMap.put("url", endpoint.getUrl());
-        
-        // Convert path variables
-        if (endpoint.getPathVariables() != null) {
-            List<Map<String, Object>> pathVars = endpoint.getPathVariables().stream()
-                    .map(this::convertParameterToTemplateFormat)
-                    .collect(Collectors.toList());
-            endpointMap.put("pathVariables", pathVars);
+    /**
+     * Writes a manifest with the same top-level shape as {@link #writeTemplateJson}, but
+     * each controller only lists the name, method and URL of its endpoints. The full
+     * controller is written separately by {@link #writeControllerJson} and referenced
+     * through its {@code chunk} file name.
+     */
+    public void writeManifestJson(ApiDocumentation apiDoc, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("title", apiDoc.getTitle());
+        generator.writeStringField("version", apiDoc.getVersion());
+        generator.writeStringField("description", apiDoc.getDescription());
+        generator.writeStringField("baseUrl", apiDoc.getBaseUrl());
+        if (apiDoc.getControllers() != null) {
+            generator.writeArrayFieldStart("controllers");
+            for (ControllerDoc controller : apiDoc.getControllers()) {
+                generator.writeStartObject();
+                generator.writeStringField("name", controller.getName());
+                generator.writeStringField("className", controller.getClassName());
+                generator.writeStringField("description", controller.getDescription());
+                generator.writeStringField("baseUrl", controller.getBaseUrl());
+                writeStrings("tags", controller.getTags(), generator);
+                generator.writeStringField("chunk", getChunkName(controller));
+                generator.writeArrayFieldStart("endpoints");
+                if (controller.getEndpoints() != null) {
+                    for (EndpointDoc endpoint : controller.getEndpoints()) {
+                        generator.writeStartObject();
+                        generator.writeStringField("name", endpoint.getName());
+                        generator.writeStringField("httpMethod", endpoint.getHttpMethod());
+                        generator.writeStringField("url", endpoint.getUrl());
+                        generator.writeEndObject();
+                    }
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
         }
-        
-        // Convert query parameters
-        if (endpoint.getQueryParameters() != null) {
-            List<Map<String, Object>> queryParams = endpoint.getQueryParameters().stream()
-                    .map(this::convertParameterToTemplateFormat)
-                    .collect(Collectors.toList());
-            endpointMap.put("queryParameters", queryParams);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes one controller in the template JSON shape, as loaded on demand by the page
+     * in chunked mode.
+     */
+    public void writeControllerJson(ControllerDoc controller, JsonGenerator generator) throws IOException {
+        writeController(controller, generator);
+    }
+
+    /**
+     * Returns the file name under which a controller's chunk is served and written.
+     */
+    public String getChunkName(ControllerDoc controller) {
+        return controller.getName() + ".json";
+    }
+
+    private void writeController(ControllerDoc controller, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", controller.getName());
+        generator.writeStringField("className", controller.getClassName());
+        generator.writeStringField("description", controller.getDescription());
+        generator.writeStringField("baseUrl", controller.getBaseUrl());
+        generator.writeStringField("author", controller.getAuthor());
+        generator.writeStringField("since", controller.getSince());
+        generator.writeStringField("version", controller.getVersion());
+        writeStrings("tags", controller.getTags(), generator);
+        if (controller.getEndpoints() != null) {
+            generator.writeArrayFieldStart("endpoints");
+            for (EndpointDoc endpoint : controller.getEndpoints()) {
+                writeEndpoint(endpoint, generator);
+            }
+            generator.writeEndArray();
         }
-        
-        // Convert request body with example
-        if (endpoint.getRequestBody() != null) {
-            Map<String, Object> requestBodyMap = convertRequestBodyToTemplateFormat(endpoint.getRequestBody());
-            endpointMap.put("requestBody", requestBodyMap);
+        generator.writeEndObject();
+    }
+
+    private void writeEndpoint(EndpointDoc endpoint, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", endpoint.getName());
+        generator.writeStringField("description", endpoint.getDescription());
+        generator.writeStringField("httpMethod", endpoint.getHttpMethod());
+        generator.writeStringField("url", endpoint.getUrl());
+        writeParameters("pathVariables", endpoint.getPathVariables(), generator);
+        writeParameters("queryParameters", endpoint.getQueryParameters(), generator);
+
+        ParameterDoc requestBody = endpoint.getRequestBody();
+        if (requestBody != null) {
+            generator.writeObjectFieldStart("requestBody");
+            generator.writeStringField("type", requestBody.getType());
+            generator.writeStringField("description", requestBody.getDescription());
+            generator.writeBooleanField("required", requestBody.isRequired());
+            generator.writeStringField("example", generateRequestBodyExample(requestBody));
+            generator.writeEndObject();
         }
-        
-        // Convert responses
+
         if (endpoint.getResponses() != null) {
-            List<Map<String, Object>> responses = endpoint.getResponses().stream()
-                    .map(this::convertResponseToTemplateFormat)
-                    .collect(Collectors.toList());
-            endpointMap.put("responses", responses);
+            generator.writeArrayFieldStart("responses");
+            for (ResponseDoc response : endpoint.getResponses()) {
+                generator.writeStartObject();
+                generator.writeNumberField("statusCode", response.getStatusCode());
+                generator.writeStringField("description", response.getDescription());
+                generator.writeStringField("mediaType", response.getMediaType());
+                generator.writeStringField("example", response.getExample());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
         }
-        
-        endpointMap.put("examples", endpoint.getExamples());
-        endpointMap.put("tags", endpoint.getTags());
-        endpointMap.put("deprecated", endpoint.isDeprecated());
-        endpointMap.put("apiNote", endpoint.getApiNote());
-        endpointMap.put("apiDescription", endpoint.getApiDescription());
-        
-        return endpointMap;
-    }
 
-    private Map<String, Object> convertParameterToTemplateFormat(ParameterDoc param) {
-        Map<String, Object> paramMap = new HashMap<>();
-        
-        paramMap.put("name", param.getName());
-        paramMap.put("type", param.getType());
-        paramMap.put("description", param.getDescription());
-        paramMap.put("required", param.isRequired());
-        paramMap.put("defaultValue", param.getDefaultValue());
-        paramMap.put("example", param.getExample());
-        
-        return paramMap;
+        writeStrings("examples", endpoint.getExamples(), generator);
+        writeStrings("tags", endpoint.getTags(), generator);
+        generator.writeBooleanField("deprecated", endpoint.isDeprecated());
+        generator.writeStringField("apiNote", endpoint.getApiNote());
+        generator.writeStringField("apiDescription", endpoint.getApiDescription());
+        generator.writeEndObject();
     }
 
-    private Map<String, Object> convertRequestBodyToTemplateFormat(ParameterDoc requestBody) {
-        Map<String, Object> bodyMap = new HashMap<>();
-        
-        bodyMap.put("type", requestBody.getType());
-        bodyMap.put("description", requestBody.getDescription());
-        bodyMap.put("required", requestBody.isRequired());
-        
-        // Generate a proper JSON example based on the type and existing example
-        String example = generateRequestBodyExample(requestBody);
-        bodyMap.put("example", example);
-        
-        return bodyMap;
+    private void writeParameters(String fieldName, List<ParameterDoc> parameters, JsonGenerator generator) throws IOException {
+        if (parameters == null) {
+            return;
+        }
+        generator.writeArrayFieldStart(fieldName);
+        for (ParameterDoc param : parameters) {
+            generator.writeStartObject();
+            generator.writeStringField("name", param.getName());
+            generator.writeStringField("type", param.getType());
+            generator.writeStringField("description", param.getDescription());
+            generator.writeBooleanField("required", param.isRequired());
+            generator.writeStringField("defaultValue", param.getDefaultValue());
+            generator.writeStringField("example", param.getExample());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
     }
 
-    private Map<String, Object> convertResponseToTemplateFormat(ResponseDoc response) {
-        Map<String, Object> responseMap = new HashMap<>();
-        
-        responseMap.put("statusCode", response.getStatusCode());
-        responseMap.put("description", response.getDescription());
-        responseMap.put("mediaType", response.getMediaType());
-        responseMap.put("example", response.getExample());
-        
-        return responseMap;
+    private void writeStrings(String fieldName, List<String> values, JsonGenerator generator) throws IOException {
+        if (values == null) {
+            generator.writeNullField(fieldName);
+            return;
+        }
+        generator.writeArrayFieldStart(fieldName);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
     }
 
     private String generateRequestBodyExample(ParameterDoc requestBody) {
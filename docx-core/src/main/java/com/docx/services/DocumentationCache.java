@@ -0,0 +1,153 @@
+package com.docx.services;
+
+import com.docx.models.ApiDocumentation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Holds the current {@link DocumentationSnapshot} and makes sure at most one generation
+ * runs at a time. Callers that arrive while a generation is in flight join it instead of
+ * starting their own, and the published snapshot is swapped atomically, so readers see
+ * either the previous or the new documentation, never a partially built one.
+ */
+public class DocumentationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentationCache.class);
+
+    private final Supplier<ApiDocumentation> generator;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<DocumentationSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<DocumentationSnapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong generations = new AtomicLong();
+
+    public DocumentationCache(Supplier<ApiDocumentation> generator) {
+        this(generator, new ObjectMapper());
+    }
+
+    /**
+     * Creates a cache whose snapshot content hashes are taken over the JSON that
+     * {@code objectMapper} writes.
+     */
+    public DocumentationCache(Supplier<ApiDocumentation> generator, ObjectMapper objectMapper) {
+        this.generator = generator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the current snapshot, generating it on the calling thread if none has been
+     * published yet.
+     */
+    public DocumentationSnapshot get() {
+        DocumentationSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return join(generate(Runnable::run));
+    }
+
+    /**
+     * Regenerates the documentation on the calling thread and publishes it. Readers keep
+     * getting the previous snapshot until the new one is complete. If a generation is
+     * already running, its result is returned instead.
+     */
+    public DocumentationSnapshot refresh() {
+        return join(generate(Runnable::run));
+    }
+
+    /**
+     * Starts a generation on the given executor, or returns the one already in flight.
+     */
+    public CompletableFuture<DocumentationSnapshot> refreshAsync(Executor executor) {
+        return generate(executor);
+    }
+
+    /**
+     * Returns the published snapshot without triggering generation, or {@code null}.
+     */
+    public DocumentationSnapshot getIfPresent() {
+        return current.get();
+    }
+
+    private CompletableFuture<DocumentationSnapshot> generate(Executor executor) {
+        while (true) {
+            CompletableFuture<DocumentationSnapshot> pending = inFlight.get();
+            if (pending != null) {
+                logger.debug("Joining in-flight documentation generation");
+                return pending;
+            }
+            CompletableFuture<DocumentationSnapshot> future = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, future)) {
+                try {
+                    executor.execute(() -> run(future));
+                } catch (RuntimeException e) {
+                    inFlight.compareAndSet(future, null);
+                    future.completeExceptionally(e);
+                }
+                return future;
+            }
+        }
+    }
+
+    private void run(CompletableFuture<DocumentationSnapshot> future) {
+        try {
+            long start = System.nanoTime();
+            ApiDocumentation documentation = generator.get();
+            DocumentationSnapshot snapshot = new DocumentationSnapshot(documentation, generations.incrementAndGet(),
+                    Instant.now(), contentHash(documentation));
+            // Publish before clearing the in-flight marker so no caller can observe neither.
+            current.set(snapshot);
+            logger.info("Documentation generation {} finished in {} ms with {} controllers",
+                    snapshot.getGeneration(), (System.nanoTime() - start) / 1_000_000,
+                    documentation != null && documentation.getControllers() != null
+                            ? documentation.getControllers().size() : 0);
+            future.complete(snapshot);
+        } catch (Throwable t) {
+            logger.error("Documentation generation failed", t);
+            future.completeExceptionally(t);
+        } finally {
+            inFlight.compareAndSet(future, null);
+        }
+    }
+
+    /**
+     * Hashes the documentation's JSON form, streamed into the digest rather than buffered.
+     */
+    private String contentHash(ApiDocumentation documentation) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            objectMapper.writeValue(new DigestOutputStream(OutputStream.nullOutputStream(), digest), documentation);
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private DocumentationSnapshot join(CompletableFuture<DocumentationSnapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.docx.services;
+
+import com.docx.models.ApiDocumentation;
+import com.docx.models.ControllerDoc;
+import com.docx.models.EndpointDoc;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A filtered view of the documentation: only some controllers, tags or HTTP methods,
+ * and optionally only some endpoint properties. Projections with the same criteria
+ * share a {@link #getKey() key}, regardless of the order the values were given in.
+ */
+public final class DocumentationProjection {
+
+    private final Set<String> fields;
+    private final Set<String> controllers;
+    private final Set<String> tags;
+    private final Set<String> methods;
+
+    private DocumentationProjection(Set<String> fields, Set<String> controllers, Set<String> tags, Set<String> methods) {
+        this.fields = fields;
+        this.controllers = controllers;
+        this.tags = tags;
+        this.methods = methods;
+    }
+
+    /**
+     * Creates a projection from comma-separated criteria; {@code null} or empty means no
+     * restriction. Controller, tag and method names are matched case-insensitively.
+     */
+    public static DocumentationProjection of(String fields, String controllers, String tags, String methods) {
+        return new DocumentationProjection(split(fields, false), split(controllers, true), split(tags, true), split(methods, true));
+    }
+
+    private static Set<String> split(String values, boolean ignoreCase) {
+        if (values == null || values.isBlank()) {
+            return Collections.emptySortedSet();
+        }
+        return Arrays.stream(values.split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .map(value -> ignoreCase ? value.toLowerCase(Locale.ROOT) : value)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty() && controllers.isEmpty() && tags.isEmpty() && methods.isEmpty();
+    }
+
+    /**
+     * Endpoint properties to keep, or an empty set to keep all of them.
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns a normalized form of the criteria, suitable as a cache key.
+     */
+    public String getKey() {
+        return "fields=" + String.join(",", fields)
+                + "&controller=" + String.join(",", controllers)
+                + "&tag=" + String.join(",", tags)
+                + "&method=" + String.join(",", methods);
+    }
+
+    /**
+     * Returns a hex SHA-256 digest of the {@link #getKey() key}. Unlike the key, it is safe to
+     * embed in headers such as the entity tag, whatever characters the criteria contain.
+     */
+    public String getKeyDigest() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(getKey().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Returns a shallow copy of the documentation holding only the matching controllers
+     * and endpoints. Controllers left without endpoints are dropped, and so are the
+     * models when only some endpoint fields were asked for.
+     */
+    public ApiDocumentation apply(ApiDocumentation apiDoc) {
+        ApiDocumentation projected = new ApiDocumentation(apiDoc.getTitle(), apiDoc.getVersion(), apiDoc.getDescription());
+        projected.setBaseUrl(apiDoc.getBaseUrl());
+        projected.setConfiguration(apiDoc.getConfiguration());
+        projected.setModels(fields.isEmpty() ? apiDoc.getModels() : null);
+
+        List<ControllerDoc> matching = new ArrayList<>();
+        if (apiDoc.getControllers() != null) {
+            for (ControllerDoc controller : apiDoc.getControllers()) {
+                if (!matchesController(controller)) {
+                    continue;
+                }
+                List<EndpointDoc> endpoints = controller.getEndpoints() == null ? List.of() : controller.getEndpoints().stream()
+                        .filter(endpoint -> matchesEndpoint(controller, endpoint))
+                        .collect(Collectors.toList());
+                if (!endpoints.isEmpty() || (tags.isEmpty() && methods.isEmpty())) {
+                    matching.add(copy(controller, endpoints));
+                }
+            }
+        }
+        projected.setControllers(matching);
+        return projected;
+    }
+
+    private boolean matchesController(ControllerDoc controller) {
+        if (controllers.isEmpty() || controller.getName() == null) {
+            return controllers.isEmpty();
+        }
+        String name = controller.getName().toLowerCase(Locale.ROOT);
+        return controllers.contains(name) || controllers.contains(name.replace("controller", ""));
+    }
+
+    private boolean matchesEndpoint(ControllerDoc controller, EndpointDoc endpoint) {
+        if (!methods.isEmpty() && (endpoint.getHttpMethod() == null
+                || !methods.contains(endpoint.getHttpMethod().toLowerCase(Locale.ROOT)))) {
+            return false;
+        }
+        return tags.isEmpty() || hasTag(endpoint.getTags()) || hasTag(controller.getTags());
+    }
+
+    private boolean hasTag(List<String> values) {
+        return values != null && values.stream().anyMatch(tag -> tag != null && tags.contains(tag.toLowerCase(Locale.ROOT)));
+    }
+
+    private static ControllerDoc copy(ControllerDoc controller, List<EndpointDoc> endpoints) {
+        ControllerDoc copy = new ControllerDoc(controller.getName(), controller.getClassName());
+        copy.setDescription(controller.getDescription());
+        copy.setBaseUrl(controller.getBaseUrl());
+        copy.setAuthor(controller.getAuthor());
+        copy.setSince(controller.getSince());
+        copy.setVersion(controller.getVersion());
+        copy.setTags(controller.getTags());
+        copy.setEndpoints(endpoints);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return getKey();
+    }
+}
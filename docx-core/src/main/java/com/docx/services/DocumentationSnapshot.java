@@ -0,0 +1,101 @@
+package com.docx.services;
+
+import com.docx.models.ApiDocumentation;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A fully generated, published version of the documentation. Snapshots are only handed
+ * out once generation has finished and must not be modified afterwards; derived
+ * renditions (HTML, JSON, ...) are computed once per snapshot and memoized.
+ */
+public final class DocumentationSnapshot {
+
+    private final ApiDocumentation documentation;
+    private final long generation;
+    private final Instant generatedAt;
+    private final String contentHash;
+    private final Map<String, CompletableFuture<Object>> renditions = new ConcurrentHashMap<>();
+
+    public DocumentationSnapshot(ApiDocumentation documentation, long generation, Instant generatedAt,
+                                 String contentHash) {
+        this.documentation = documentation;
+        this.generation = generation;
+        this.generatedAt = generatedAt;
+        this.contentHash = contentHash;
+    }
+
+    public ApiDocumentation getDocumentation() {
+        return documentation;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public Instant getGeneratedAt() {
+        return generatedAt;
+    }
+
+    /**
+     * Strong hash of the documentation, computed when the snapshot was built, so entity
+     * tags can be checked without serializing anything.
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Returns the rendition stored under the key, rendering it from the documentation on
+     * first use. Concurrent callers for the same key wait for a single render, which runs
+     * outside the map's locks, so other keys are never blocked and a renderer may read
+     * other renditions. {@code null} results and failures are not memoized.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getRendition(String key, Function<ApiDocumentation, T> renderer) {
+        CompletableFuture<Object> rendition = renditions.get(key);
+        if (rendition == null) {
+            CompletableFuture<Object> created = new CompletableFuture<>();
+            rendition = renditions.putIfAbsent(key, created);
+            if (rendition == null) {
+                return (T) render(key, created, renderer);
+            }
+        }
+        return (T) join(rendition);
+    }
+
+    private Object render(String key, CompletableFuture<Object> rendition, Function<ApiDocumentation, ?> renderer) {
+        try {
+            Object value = renderer.apply(documentation);
+            if (value == null) {
+                renditions.remove(key, rendition);
+            }
+            rendition.complete(value);
+            return value;
+        } catch (Throwable t) {
+            // Waiting callers get the failure; later ones render again
+            renditions.remove(key, rendition);
+            rendition.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> rendition) {
+        try {
+            return rendition.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
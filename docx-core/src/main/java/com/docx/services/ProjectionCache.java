@@ -0,0 +1,55 @@
+package com.docx.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Least-recently-used cache of rendered projections for one documentation snapshot.
+ * Projection keys come from request parameters, so unlike the snapshot's own
+ * renditions the number of entries is bounded.
+ */
+public final class ProjectionCache {
+
+    private final int maxEntries;
+    private final Map<String, byte[]> entries;
+
+    public ProjectionCache(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > ProjectionCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached bytes for {@code key}, rendering them outside the lock on a
+     * miss. Concurrent misses for the same key may render it more than once. A
+     * {@code null} rendering is returned but not cached.
+     */
+    public byte[] get(String key, Supplier<byte[]> renderer) {
+        synchronized (entries) {
+            byte[] cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        byte[] rendered = renderer.get();
+        if (rendered == null) {
+            // Failed renderings (e.g. compression) are not remembered
+            return null;
+        }
+        synchronized (entries) {
+            entries.put(key, rendered);
+        }
+        return rendered;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
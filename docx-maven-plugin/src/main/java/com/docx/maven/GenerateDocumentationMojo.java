@@ -1,9 +1,16 @@
 package com.docx.maven;
 
+import com.docx.generators.ContentCompressor;
 import com.docx.generators.DocumentationGenerator;
+import com.docx.generators.OpenApiGenerator;
+import com.docx.generators.PageOptions;
 import com.docx.models.ApiDocumentation;
 import com.docx.models.ControllerDoc;
+import com.docx.processors.ClassFileControllerScanner;
+import com.docx.processors.ClasspathControllerScanner;
+import com.docx.processors.ControllerScanCache;
 import com.docx.processors.SpringAnnotationProcessor;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -12,18 +19,13 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
-import org.reflections.Reflections;
-import org.reflections.scanners.Scanners;
-import org.reflections.util.ConfigurationBuilder;
-import org.springframework.stereotype.Controller;
-import org.springframework.web.bind.annotation.RestController;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -42,6 +44,24 @@ public class GenerateDocumentationMojo extends AbstractMojo {
     @Parameter(property = "docx.autoScanControllers", defaultValue = "true")
     private boolean autoScanControllers;
 
+    @Parameter(property = "docx.scanCache", defaultValue = "true")
+    private boolean scanCache;
+
+    @Parameter(property = "docx.scanCacheFile", defaultValue = "${project.build.directory}/docx-cache/controller-scan.json")
+    private File scanCacheFile;
+
+    @Parameter(property = "docx.precompress", defaultValue = "true")
+    private boolean precompress;
+
+    @Parameter(property = "docx.chunked", defaultValue = "false")
+    private boolean chunked;
+
+    /**
+     * Formats of the OpenAPI specification to write, {@code json} and/or {@code yaml}.
+     */
+    @Parameter(property = "docx.openApiFormats", defaultValue = "json")
+    private List<String> openApiFormats = new ArrayList<>();
+
     @Parameter(property = "docx.excludePackages")
     private List<String> excludePackages = new ArrayList<>();
 
@@ -94,7 +114,10 @@ public class GenerateDocumentationMojo extends AbstractMojo {
             ApiDocumentation apiDoc = generateApiDocumentation(controllerClasses);
 
             // Generate HTML files
-            Map<String, String> generatedFiles = documentationGenerator.generateAllDocumentation(apiDoc);
+            PageOptions pageOptions = new PageOptions();
+            pageOptions.setChunked(chunked);
+            Map<String, String> generatedFiles = documentationGenerator.generateAllDocumentation(apiDoc, pageOptions);
+            generatedFiles.putAll(generateOpenApiFiles(apiDoc));
 
             // Write files to disk
             writeGeneratedFiles(generatedFiles);
@@ -120,48 +143,37 @@ public class GenerateDocumentationMojo extends AbstractMojo {
             List<String> classpathElements = project.getCompileClasspathElements();
             classpathElements.add(project.getBuild().getOutputDirectory());
 
-            URL[] urls = classpathElements.stream()
-                    .map(element -> {
-                        try {
-                            return new File(element).toURI().toURL();
-                        } catch (MalformedURLException e) {
-                            getLog().warn("Invalid classpath element: " + element);
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .toArray(URL[]::new);
-
-            URLClassLoader classLoader = new URLClassLoader(urls, Thread.currentThread().getContextClassLoader());
-
-            // Determine packages to scan
-            Set<String> packagesToScan = determinePackagesToScan();
+            List<File> classpathFiles = classpathElements.stream()
+                    .map(File::new)
+                    .collect(Collectors.toList());
+
+            // Determine packages to scan, dropping prefixes covered by a broader one
+            Set<String> packagesToScan = ClasspathControllerScanner.collapsePackages(determinePackagesToScan());
             getLog().info("Scanning packages: " + packagesToScan);
 
-            Set<Class<?>> controllers = new HashSet<>();
+            // Read annotations from the class files without loading any class,
+            // skipping jars and directories that did not change since the last build.
+            // Composed stereotypes are resolved through the project class loader's resources.
+            URLClassLoader classLoader = new URLClassLoader(toUrls(classpathFiles), Thread.currentThread().getContextClassLoader());
+            ClassFileControllerScanner classFileScanner = new ClassFileControllerScanner(classLoader);
+            Set<String> discovered = scanCache
+                    ? new ControllerScanCache(scanCacheFile.toPath(), classFileScanner).scan(classpathFiles, packagesToScan)
+                    : classFileScanner.scan(classpathFiles, packagesToScan);
+            Set<String> controllerNames = discovered.stream()
+                    .filter(this::shouldIncludeController)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            getLog().debug("Controllers found in class files: " + controllerNames);
 
-            for (String packageName : packagesToScan) {
+            // Only the matching controllers are loaded
+            Set<Class<?>> controllers = new LinkedHashSet<>();
+            for (String controllerName : controllerNames) {
                 try {
-                    Reflections reflections = new Reflections(
-                            new ConfigurationBuilder()
-                                    .setUrls(urls)
-                                    .forPackage(packageName, classLoader)
-                                    .setScanners(Scanners.TypesAnnotated)
-                    );
-
-                    controllers.addAll(reflections.getTypesAnnotatedWith(RestController.class));
-                    controllers.addAll(reflections.getTypesAnnotatedWith(Controller.class));
-
-                } catch (Exception e) {
-                    getLog().warn("Failed to scan package: " + packageName + " - " + e.getMessage());
+                    controllers.add(Class.forName(controllerName, false, classLoader));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    getLog().warn("Failed to load controller: " + controllerName + " - " + e.getMessage());
                 }
             }
 
-            // Filter out excluded packages
-            controllers = controllers.stream()
-                    .filter(this::shouldIncludeController)
-                    .collect(Collectors.toSet());
-
             return controllers;
 
         } catch (Exception e) {
@@ -169,6 +181,20 @@ public class GenerateDocumentationMojo extends AbstractMojo {
         }
     }
 
+    private URL[] toUrls(List<File> classpathFiles) {
+        return classpathFiles.stream()
+                .map(file -> {
+                    try {
+                        return file.toURI().toURL();
+                    } catch (MalformedURLException e) {
+                        getLog().warn("Invalid classpath element: " + file);
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .toArray(URL[]::new);
+    }
+
     private Set<String> determinePackagesToScan() {
         Set<String> packagesToScan = new HashSet<>();
 
@@ -189,8 +215,9 @@ public class GenerateDocumentationMojo extends AbstractMojo {
         return packagesToScan;
     }
 
-    private boolean shouldIncludeController(Class<?> controllerClass) {
-        String packageName = controllerClass.getPackage().getName();
+    private boolean shouldIncludeController(String controllerClassName) {
+        int lastDot = controllerClassName.lastIndexOf('.');
+        String packageName = lastDot > 0 ? controllerClassName.substring(0, lastDot) : "";
 
         // Check exclude patterns
         for (String excludePattern : excludePackages) {
@@ -215,10 +242,25 @@ public class GenerateDocumentationMojo extends AbstractMojo {
                 .collect(Collectors.toList());
 
         apiDoc.setControllers(controllers);
+        apiDoc.setModels(annotationProcessor.getModels(controllers));
 
         return apiDoc;
     }
 
+    private Map<String, String> generateOpenApiFiles(ApiDocumentation apiDoc) throws MojoExecutionException {
+        Map<String, String> openApiFiles = new HashMap<>();
+        for (String format : openApiFormats) {
+            switch (format.trim().toLowerCase(Locale.ROOT)) {
+                case "json" -> openApiFiles.put("openapi.json",
+                        new String(new OpenApiGenerator().generate(apiDoc), StandardCharsets.UTF_8));
+                case "yaml", "yml" -> openApiFiles.put("openapi.yaml",
+                        new String(new OpenApiGenerator(new YAMLFactory()).generate(apiDoc), StandardCharsets.UTF_8));
+                default -> throw new MojoExecutionException("Unsupported OpenAPI format: " + format);
+            }
+        }
+        return openApiFiles;
+    }
+
     private void writeGeneratedFiles(Map<String, String> generatedFiles) throws IOException {
         for (Map.Entry<String, String> entry : generatedFiles.entrySet()) {
             String fileName = entry.getKey();
@@ -230,14 +272,28 @@ public class GenerateDocumentationMojo extends AbstractMojo {
             Files.createDirectories(filePath.getParent());
 
             // Write content to file
-            try (FileWriter writer = new FileWriter(filePath.toFile())) {
-                writer.write(content);
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            Files.write(filePath, bytes);
+            if (precompress) {
+                writePrecompressed(filePath, bytes);
             }
 
             getLog().debug("Generated: " + fileName);
         }
     }
 
+    /**
+     * Writes .gz and, when brotli4j is available, .br siblings so static hosting can
+     * serve precompressed files directly.
+     */
+    private void writePrecompressed(Path filePath, byte[] content) throws IOException {
+        Files.write(filePath.resolveSibling(filePath.getFileName() + ".gz"), ContentCompressor.gzip(content));
+        byte[] brotli = ContentCompressor.brotli(content);
+        if (brotli != null) {
+            Files.write(filePath.resolveSibling(filePath.getFileName() + ".br"), brotli);
+        }
+    }
+
     private void copyStaticAssets() {
         // Create assets directory
         Path assetsDir = Paths.get(outputDirectory.getAbsolutePath(), "assets");
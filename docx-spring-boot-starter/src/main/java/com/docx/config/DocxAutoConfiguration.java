@@ -2,17 +2,28 @@ package com.docx.config;
 
 import com.docx.controllers.DocxController;
 import com.docx.generators.DocumentationGenerator;
+import com.docx.processors.AopExampleGenerator;
 import com.docx.processors.ControllerScanner;
+import com.docx.processors.ExampleSampler;
 import com.docx.properties.DocxProperties;
+import com.docx.services.DocumentationCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.CacheControl;
+import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
 @AutoConfiguration
 @ConditionalOnClass({DocxController.class})
 @ConditionalOnProperty(prefix = "docx", name = "enabled", havingValue = "true", matchIfMissing = true)
@@ -21,15 +32,51 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class DocxAutoConfiguration implements WebMvcConfigurer {
 
     private final DocxProperties properties;
+    private final DocumentationGenerator documentationGenerator;
 
-    public DocxAutoConfiguration(DocxProperties properties) {
+    public DocxAutoConfiguration(DocxProperties properties, DocumentationGenerator documentationGenerator) {
         this.properties = properties;
+        this.documentationGenerator = documentationGenerator;
+    }
+
+    /**
+     * Applies the example properties once all singletons exist, before the web server
+     * accepts requests.
+     */
+    @Bean
+    public SmartInitializingSingleton docxExampleConfigurer(ObjectProvider<AopExampleGenerator> exampleGenerator) {
+        return () -> exampleGenerator.ifAvailable(this::configureExamples);
     }
 
+    private void configureExamples(AopExampleGenerator exampleGenerator) {
+        DocxProperties.Examples examples = properties.getExamples();
+        exampleGenerator.setEnabled(properties.getFeatures().isAutoGenerateExamples());
+        exampleGenerator.setQueueCapacity(examples.getQueueCapacity());
+        exampleGenerator.setMemoryBudgetBytes(examples.getMemoryBudget().toBytes());
+        ExampleSampler sampler = exampleGenerator.getSampler();
+        sampler.setRate(examples.getSampleRate());
+        sampler.setTokensPerSecond(examples.getTokensPerSecond());
+        sampler.setBurst(examples.getBurst());
+        sampler.setFirstN(examples.getFirstN());
+        sampler.setThenOneIn(examples.getThenOneIn());
+        sampler.setMode(examples.getSamplingMode());
+    }
 
     @Bean
     public ControllerScanner controllerScanner() {
-        return new ControllerScanner(properties);
+        ControllerScanner scanner = new ControllerScanner(properties);
+        scanner.setDiscoveryMode(properties.getScan().getDiscoveryMode());
+        if (StringUtils.hasText(properties.getScan().getCacheDirectory())) {
+            scanner.setScanCacheDirectory(Paths.get(properties.getScan().getCacheDirectory()));
+        }
+        return scanner;
+    }
+
+    @Bean
+    public DocumentationCache documentationCache(ControllerScanner controllerScanner,
+                                                 ObjectProvider<ObjectMapper> objectMapper) {
+        return new DocumentationCache(controllerScanner::scanAndGenerateDocumentation,
+                objectMapper.getIfAvailable(ObjectMapper::new));
     }
 
     @Override
@@ -38,7 +85,13 @@ public class DocxAutoConfiguration implements WebMvcConfigurer {
         if (!basePath.endsWith("/")) {
             basePath += "/";
         }
-        
+
+        // Names embed a content hash, so they can be cached forever
+        registry.addResourceHandler(basePath + "assets/docx.*")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new TemplateAssetResourceResolver(documentationGenerator.getAssets()));
+
         registry.addResourceHandler(basePath + "assets/**")
                 .addResourceLocations("classpath:/docx-assets/");
     }
@@ -0,0 +1,63 @@
+package com.docx.config;
+
+import com.docx.generators.TemplateAsset;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the content-hashed stylesheet and script of the documentation page from memory.
+ */
+class TemplateAssetResourceResolver implements ResourceResolver {
+
+    private final Map<String, Resource> resources;
+
+    TemplateAssetResourceResolver(Collection<TemplateAsset> assets) {
+        long lastModified = System.currentTimeMillis();
+        this.resources = assets.stream()
+                .map(asset -> new AssetResource(asset, lastModified))
+                .collect(Collectors.toUnmodifiableMap(AssetResource::getFilename, Function.identity()));
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = resources.get(requestPath);
+        return resource != null ? resource : chain.resolveResource(request, requestPath, locations);
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return resources.containsKey(resourcePath) ? resourcePath : chain.resolveUrlPath(resourcePath, locations);
+    }
+
+    private static class AssetResource extends ByteArrayResource {
+
+        private final String filename;
+        private final long lastModified;
+
+        AssetResource(TemplateAsset asset, long lastModified) {
+            super(asset.getContent(), asset.getName());
+            this.filename = asset.getName();
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public long lastModified() {
+            return lastModified;
+        }
+    }
+}
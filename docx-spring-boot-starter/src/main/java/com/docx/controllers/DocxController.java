@@ -1,18 +1,55 @@
 package com.docx.controllers;
 
+import com.docx.generators.ContentCompressor;
 import com.docx.generators.DocumentationGenerator;
+import com.docx.generators.PageOptions;
 import com.docx.models.ApiDocumentation;
-import com.docx.processors.ControllerScanner;
+import com.docx.models.ControllerDoc;
+import com.docx.models.EndpointDoc;
 import com.docx.properties.DocxProperties;
+import com.docx.search.EndpointSearchIndex;
+import com.docx.search.SearchIndex;
+import com.docx.search.SearchResults;
+import com.docx.services.DocumentationCache;
+import com.docx.services.DocumentationProjection;
+import com.docx.services.DocumentationSnapshot;
+import com.docx.services.ProjectionCache;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.servlet.ServletContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("${docx.base-path:/docx}")
@@ -20,89 +57,403 @@ public class DocxController {
 
     private static final Logger logger = LoggerFactory.getLogger(DocxController.class);
 
+    private static final String INDEX_HTML = "index.html";
+    private static final String DOCUMENTATION_JSON = "documentation.json";
+    private static final String OPENAPI_JSON = "openapi.json";
+    private static final String CONTROLLERS_BY_NAME = "controllers-by-name";
+    private static final String SEARCH_INDEX_JSON = "search-index.json";
+    private static final String ENDPOINT_SEARCH_INDEX = "endpoint-search-index";
+    private static final String PROJECTIONS = "projections";
+    private static final String ENDPOINT_FIELDS_FILTER = "docxEndpointFields";
+
     private final DocumentationGenerator documentationGenerator;
-    private final ControllerScanner controllerScanner;
+    private final DocumentationCache documentationCache;
     private final DocxProperties properties;
-    private ApiDocumentation cachedDocumentation;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper projectionMapper;
+    private final PageOptions pageOptions;
+    private final String pageVersion;
+    private final AtomicReference<EndpointSearchIndex> lastSearchIndex = new AtomicReference<>();
 
     public DocxController(DocumentationGenerator documentationGenerator, 
-                         ControllerScanner controllerScanner, 
-                         DocxProperties properties) {
+                         DocumentationCache documentationCache, 
+                         DocxProperties properties,
+                         ObjectProvider<ObjectMapper> objectMapper,
+                         ObjectProvider<ServletContext> servletContext) {
         this.documentationGenerator = documentationGenerator;
-        this.controllerScanner = controllerScanner;
+        this.documentationCache = documentationCache;
         this.properties = properties;
+        this.objectMapper = objectMapper.getIfAvailable(ObjectMapper::new);
+        this.projectionMapper = this.objectMapper.copy().addMixIn(EndpointDoc.class, EndpointFieldsMixin.class);
+        // The page is served both with and without a trailing slash, so assets need an absolute path
+        ServletContext context = servletContext.getIfAvailable();
+        String basePath = properties.getBasePath().endsWith("/") ? properties.getBasePath() : properties.getBasePath() + "/";
+        String pagePath = (context != null ? context.getContextPath() : "") + basePath;
+        this.pageOptions = new PageOptions(pagePath + "assets/");
+        this.pageOptions.setChunked(properties.getRendering().isChunked());
+        this.pageOptions.setChunkBasePath(pagePath + PageOptions.DEFAULT_CHUNK_BASE_PATH);
+        this.pageOptions.setSearchIndexPath(properties.getFeatures().isSearch()
+                ? pagePath + PageOptions.DEFAULT_SEARCH_INDEX_PATH : null);
+        this.pageVersion = documentationGenerator.getPageVersion(pageOptions);
         logger.info("DocxController initialized with properties: {}", properties);
     }
 
     @GetMapping(value = {"", "/", "/index.html"}, produces = MediaType.TEXT_HTML_VALUE)
-    public ResponseEntity<String> index() {
-        logger.info("DocX index page requested");
-        ApiDocumentation apiDoc = getOrGenerateDocumentation();
-        logger.info("Generating HTML for {} controllers", apiDoc.getControllers().size());
-        String html = documentationGenerator.generateIndexHtml(apiDoc);
-        logger.debug("Generated HTML length: {} characters", html.length());
-        return ResponseEntity.ok()
-                .contentType(MediaType.TEXT_HTML)
-                .body(html);
+    public ResponseEntity<StreamingResponseBody> index(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest request) {
+        logger.debug("DocX index page requested");
+        DocumentationSnapshot snapshot = documentationCache.get();
+        return streamedResponse(request, snapshot, INDEX_HTML, this::renderIndexHtml,
+                (apiDoc, out) -> documentationGenerator.writeIndexHtml(apiDoc, pageOptions, out),
+                new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8), acceptEncoding);
     }
 
+    /**
+     * Serves the documentation JSON, optionally projected: {@code fields} keeps only the
+     * listed endpoint properties, while {@code controller}, {@code tag} and {@code method}
+     * filter the endpoints. Each takes comma-separated values. Rendered projections are
+     * kept in a bounded per-snapshot cache.
+     */
     @GetMapping(value = "/api/documentation.json", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiDocumentation> apiDocumentation() {
-        logger.info("API documentation JSON requested");
-        ApiDocumentation apiDoc = getOrGenerateDocumentation();
-        logger.info("Returning API documentation with {} controllers", apiDoc.getControllers().size());
-        return ResponseEntity.ok(apiDoc);
+    public ResponseEntity<StreamingResponseBody> apiDocumentation(
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "controller", required = false) String controller,
+            @RequestParam(value = "tag", required = false) String tag,
+            @RequestParam(value = "method", required = false) String method,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest request) {
+        logger.debug("API documentation JSON requested");
+        DocumentationSnapshot snapshot = documentationCache.get();
+        DocumentationProjection projection = DocumentationProjection.of(fields, controller, tag, method);
+        if (!projection.isEmpty()) {
+            ProjectionCache projections = snapshot.getRendition(PROJECTIONS,
+                    apiDoc -> new ProjectionCache(properties.getRendering().getProjectionCacheSize()));
+            return streamingBody(encodedResponse(request, snapshot, DOCUMENTATION_JSON + "." + projection.getKeyDigest(),
+                    (key, renderer) -> projections.get(key, () -> renderer.apply(snapshot.getDocumentation())),
+                    apiDoc -> renderProjection(apiDoc, projection), MediaType.APPLICATION_JSON, acceptEncoding));
+        }
+        return streamedResponse(request, snapshot, DOCUMENTATION_JSON, this::renderJson, this::writeJson,
+                MediaType.APPLICATION_JSON, acceptEncoding);
+    }
+
+    /**
+     * Serves one controller's documentation, as loaded on demand by the page in chunked mode.
+     */
+    @GetMapping(value = "/api/controllers/{name}.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> controllerChunk(
+            @PathVariable("name") String name,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest request) {
+        DocumentationSnapshot snapshot = documentationCache.get();
+        Map<String, ControllerDoc> controllersByName = snapshot.getRendition(CONTROLLERS_BY_NAME, apiDoc ->
+                apiDoc.getControllers() == null ? Map.of() : apiDoc.getControllers().stream()
+                        .collect(Collectors.toMap(ControllerDoc::getName, Function.identity(), (first, second) -> first)));
+        ControllerDoc controller = controllersByName.get(name);
+        if (controller == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return encodedResponse(request, snapshot, "controllers/" + name + ".json",
+                apiDoc -> documentationGenerator.generateControllerJson(controller), MediaType.APPLICATION_JSON, acceptEncoding);
+    }
+
+    /**
+     * Serves the sidebar search index, built once per documentation snapshot.
+     */
+    @GetMapping(value = "/api/search-index.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> searchIndex(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest request) {
+        if (!properties.getFeatures().isSearch()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        DocumentationSnapshot snapshot = documentationCache.get();
+        return encodedResponse(request, snapshot, SEARCH_INDEX_JSON,
+                apiDoc -> documentationGenerator.generateSearchIndexJson(SearchIndex.build(apiDoc)),
+                MediaType.APPLICATION_JSON, acceptEncoding);
+    }
+
+    /**
+     * Searches endpoint names, URLs, tags and descriptions and returns ranked hits a page
+     * at a time. Paging stops after {@code docx.search.max-results} hits.
+     */
+    @GetMapping(value = "/api/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SearchResults> search(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        if (!properties.getFeatures().isSearch()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        DocxProperties.Search search = properties.getSearch();
+        int maxResults = Math.max(1, search.getMaxResults());
+        int pageSize = Math.min(Math.max(1, size != null ? size : search.getDefaultPageSize()), maxResults);
+        int offset = (int) Math.min((long) Math.max(0, page) * pageSize, maxResults);
+        DocumentationSnapshot snapshot = documentationCache.get();
+        EndpointSearchIndex searchIndex = snapshot.getRendition(ENDPOINT_SEARCH_INDEX, this::buildSearchIndex);
+        return ResponseEntity.ok(searchIndex.search(query, offset, Math.min(pageSize, maxResults - offset), search.isFuzzy()));
     }
 
     @GetMapping(value = "/api/refresh", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, String>> refresh() {
         logger.info("Documentation refresh requested");
-        cachedDocumentation = null; // Clear cache
-        getOrGenerateDocumentation(); // Regenerate
-        return ResponseEntity.ok(Map.of("status", "refreshed", "timestamp", String.valueOf(System.currentTimeMillis())));
+        DocumentationSnapshot snapshot = documentationCache.refresh();
+        if (properties.getFeatures().isSearch()) {
+            snapshot.getRendition(ENDPOINT_SEARCH_INDEX, this::buildSearchIndex);
+        }
+        return ResponseEntity.ok(Map.of("status", "refreshed", "timestamp", String.valueOf(System.currentTimeMillis()),
+                "generation", String.valueOf(snapshot.getGeneration())));
     }
 
     @GetMapping(value = "/openapi.json", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Map<String, Object>> openApiSpec() {
+    public ResponseEntity<byte[]> openApiSpec(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest request) {
         if (!properties.getFeatures().isExportOpenapi()) {
             return ResponseEntity.notFound().build();
         }
         
-        ApiDocumentation apiDoc = getOrGenerateDocumentation();
-        Map<String, Object> openApiSpec = convertToOpenApiSpec(apiDoc);
-        return ResponseEntity.ok(openApiSpec);
-    }
-
-    private ApiDocumentation getOrGenerateDocumentation() {
-        if (cachedDocumentation == null) {
-            logger.info("No cached documentation found, generating new documentation...");
-            cachedDocumentation = controllerScanner.scanAndGenerateDocumentation();
-            logger.info("Documentation generated with {} controllers", 
-                    cachedDocumentation != null ? cachedDocumentation.getControllers().size() : 0);
-            if (cachedDocumentation != null && cachedDocumentation.getControllers() != null) {
-                cachedDocumentation.getControllers().forEach(controller -> 
-                    logger.debug("Controller found: {} with {} endpoints", 
-                            controller.getName(), 
-                            controller.getEndpoints() != null ? controller.getEndpoints().size() : 0));
+        DocumentationSnapshot snapshot = documentationCache.get();
+        return encodedResponse(request, snapshot, OPENAPI_JSON,
+                documentationGenerator::generateOpenApiJson, MediaType.APPLICATION_JSON, acceptEncoding);
+    }
+
+    /**
+     * Generates and renders the documentation in the background once the application is
+     * ready, so that neither startup nor the first request pays for it. Requests arriving
+     * in the meantime join the same generation. Uses a virtual thread where the JDK
+     * supports it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isWarmup()) {
+            return;
+        }
+        logger.info("Warming up documentation in the background");
+        Executor executor = createWarmupExecutor();
+        documentationCache.refreshAsync(executor)
+                .thenAcceptAsync(snapshot -> {
+                    if (properties.getFeatures().isSearch()) {
+                        snapshot.getRendition(ENDPOINT_SEARCH_INDEX, this::buildSearchIndex);
+                    }
+                    if (!properties.getRendering().isStreaming()) {
+                        snapshot.getRendition(INDEX_HTML, this::renderIndexHtml);
+                    }
+                    logger.info("Documentation warm-up complete");
+                }, executor)
+                .exceptionally(e -> {
+                    logger.warn("Documentation warm-up failed, it will be generated on request", e);
+                    return null;
+                });
+    }
+
+    /**
+     * Serves a page or document either from its cached rendition or, with
+     * {@code docx.rendering.streaming}, by writing it straight to the response so it is
+     * never held in memory as a whole. Streamed responses are not precompressed.
+     */
+    private ResponseEntity<StreamingResponseBody> streamedResponse(ServletWebRequest request,
+                                                                   DocumentationSnapshot snapshot, String key,
+                                                                   Function<ApiDocumentation, byte[]> renderer,
+                                                                   DocumentWriter writer,
+                                                                   MediaType contentType, String acceptEncoding) {
+        if (!properties.getRendering().isStreaming()) {
+            return streamingBody(encodedResponse(request, snapshot, key, renderer, contentType, acceptEncoding));
+        }
+
+        if (request.checkNotModified(entityTag(snapshot, key), snapshot.getGeneratedAt().toEpochMilli())) {
+            return null;
+        }
+        ApiDocumentation apiDoc = snapshot.getDocumentation();
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(out -> writer.write(apiDoc, out));
+    }
+
+    /**
+     * Adapts a buffered response for handlers that return a streaming body.
+     */
+    private ResponseEntity<StreamingResponseBody> streamingBody(ResponseEntity<byte[]> cached) {
+        if (cached == null) {
+            return null;
+        }
+        byte[] body = cached.getBody();
+        return ResponseEntity.status(cached.getStatusCode())
+                .headers(cached.getHeaders())
+                .contentLength(body.length)
+                .body(out -> out.write(body));
+    }
+
+    /**
+     * Serves a rendition of the snapshot, using a precompressed variant when the client
+     * accepts one. Each variant is compressed once per snapshot. Conditional requests
+     * matching the snapshot's ETag or Last-Modified are answered with 304 before anything
+     * is rendered.
+     */
+    private ResponseEntity<byte[]> encodedResponse(ServletWebRequest request, DocumentationSnapshot snapshot,
+                                                   String key, Function<ApiDocumentation, byte[]> renderer,
+                                                   MediaType contentType, String acceptEncoding) {
+        return encodedResponse(request, snapshot, key, snapshot::getRendition, renderer, contentType, acceptEncoding);
+    }
+
+    /**
+     * Variant that keeps the renditions in {@code store} instead of the snapshot, e.g. a
+     * bounded projection cache.
+     */
+    private ResponseEntity<byte[]> encodedResponse(ServletWebRequest request, DocumentationSnapshot snapshot,
+                                                   String key, RenditionStore store,
+                                                   Function<ApiDocumentation, byte[]> renderer,
+                                                   MediaType contentType, String acceptEncoding) {
+        String coding = null;
+        if (properties.getRendering().isPrecompress()) {
+            coding = selectEncoding(acceptEncoding);
+            // Set directly so it is also sent with 304 responses
+            request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        String entityTag = entityTag(snapshot, key) + (coding != null ? "-" + coding : "");
+        if (request.checkNotModified(entityTag, snapshot.getGeneratedAt().toEpochMilli())) {
+            return null;
+        }
+
+        byte[] content = store.get(key, renderer);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(contentType);
+        if (coding == null) {
+            return response.body(content);
+        }
+        String selected = coding;
+        byte[] encoded = store.get(key + "." + coding, apiDoc -> ContentCompressor.encode(content, selected));
+        if (encoded == null) {
+            // Compression failed; nothing was cached, so it is retried on the next request
+            request.getResponse().setHeader(HttpHeaders.ETAG, "\"" + entityTag(snapshot, key) + "\"");
+            return response.body(content);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, coding).body(encoded);
+    }
+
+    /**
+     * Returns the entity tag of a rendition. The page also depends on the template, its
+     * assets and the page options, so its tag changes with them, e.g. after an upgrade.
+     */
+    private String entityTag(DocumentationSnapshot snapshot, String key) {
+        String entityTag = snapshot.getContentHash() + "-" + key;
+        return INDEX_HTML.equals(key) ? entityTag + "-" + pageVersion : entityTag;
+    }
+
+    /**
+     * Picks the preferred supported content coding from an {@code Accept-Encoding} header,
+     * favouring brotli over gzip at equal quality. Returns {@code null} for identity.
+     */
+    private String selectEncoding(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return null;
+        }
+        Map<String, Double> qualities = new HashMap<>();
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            double quality = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
             }
-        } else {
-            logger.debug("Using cached documentation with {} controllers", 
-                    cachedDocumentation.getControllers().size());
-        }
-        return cachedDocumentation;
-    }
-
-    private Map<String, Object> convertToOpenApiSpec(ApiDocumentation apiDoc) {
-        // Basic OpenAPI 3.0 structure
-        return Map.of(
-            "openapi", "3.0.3",
-            "info", Map.of(
-                "title", apiDoc.getTitle(),
-                "version", apiDoc.getVersion(),
-                "description", apiDoc.getDescription()
-            ),
-            "paths", Map.of(),
-            "components", Map.of()
-        );
-    }
-}
\ No newline at end of file
+            qualities.put(tokens[0].trim().toLowerCase(Locale.ROOT), quality);
+        }
+
+        double wildcard = qualities.getOrDefault("*", 0.0);
+        double brotli = ContentCompressor.isBrotliAvailable()
+                ? qualities.getOrDefault(ContentCompressor.BROTLI, wildcard) : 0;
+        double gzip = qualities.getOrDefault(ContentCompressor.GZIP, wildcard);
+        if (brotli > 0 && brotli >= gzip) {
+            return ContentCompressor.BROTLI;
+        }
+        return gzip > 0 ? ContentCompressor.GZIP : null;
+    }
+
+    /**
+     * Builds the search index for a snapshot, reusing the per-controller segments of the
+     * previous snapshot's index for controllers that did not change.
+     */
+    private EndpointSearchIndex buildSearchIndex(ApiDocumentation apiDoc) {
+        long start = System.nanoTime();
+        EndpointSearchIndex searchIndex = EndpointSearchIndex.build(apiDoc, lastSearchIndex.get());
+        lastSearchIndex.set(searchIndex);
+        logger.debug("Built search index of {} endpoints and {} terms in {} ms, reusing {} of {} controllers",
+                searchIndex.getEndpointCount(), searchIndex.getTermCount(), (System.nanoTime() - start) / 1_000_000,
+                searchIndex.getReusedSegments(), searchIndex.getSegmentCount());
+        return searchIndex;
+    }
+
+    /**
+     * Renders the index page once per snapshot; requests are then served from these bytes.
+     */
+    private byte[] renderIndexHtml(ApiDocumentation apiDoc) {
+        logger.info("Generating HTML for {} controllers", apiDoc.getControllers().size());
+        byte[] html = documentationGenerator.generateIndexHtmlBytes(apiDoc, pageOptions);
+        logger.debug("Generated HTML length: {} bytes", html.length);
+        return html;
+    }
+
+    private byte[] renderJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize API documentation", e);
+        }
+    }
+
+    private void writeJson(Object value, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            objectMapper.writeValue(generator, value);
+        }
+    }
+
+    private Executor createWarmupExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("docx-warmup-");
+        executor.setDaemon(true);
+        try {
+            executor.setVirtualThreads(true);
+        } catch (UnsupportedOperationException e) {
+            logger.debug("Virtual threads not supported on this JDK, warming up on a platform thread");
+        }
+        return executor;
+    }
+
+    /**
+     * Serializes a projection. Endpoint properties are filtered through a mix-in, so the
+     * projected documentation itself does not need to be copied down to the endpoints.
+     */
+    private byte[] renderProjection(ApiDocumentation apiDoc, DocumentationProjection projection) {
+        SimpleBeanPropertyFilter endpointFilter = projection.getFields().isEmpty()
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(projection.getFields());
+        try {
+            return projectionMapper.writer(new SimpleFilterProvider().addFilter(ENDPOINT_FIELDS_FILTER, endpointFilter))
+                    .writeValueAsBytes(projection.apply(apiDoc));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize API documentation projection", e);
+        }
+    }
+
+    @JsonFilter(ENDPOINT_FIELDS_FILTER)
+    private abstract static class EndpointFieldsMixin {
+    }
+
+    @FunctionalInterface
+    private interface RenditionStore {
+        byte[] get(String key, Function<ApiDocumentation, byte[]> renderer);
+    }
+
+    @FunctionalInterface
+    private interface DocumentWriter {
+        void write(ApiDocumentation apiDoc, OutputStream out) throws IOException;
+    }
+}
@@ -1,7 +1,10 @@
 package com.docx.properties;
 
+import com.docx.processors.ControllerScanner;
+import com.docx.processors.ExampleSampler;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
+import org.springframework.util.unit.DataSize;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +18,7 @@ public class DocxProperties {
     private String title = "API Documentation";
     private String version = "1.0.0";
     private String description = "API Documentation generated by Docx";
+    private boolean warmup = false;
 
     @NestedConfigurationProperty
     private Branding branding = new Branding();
@@ -25,6 +29,15 @@ public class DocxProperties {
     @NestedConfigurationProperty
     private Features features = new Features();
 
+    @NestedConfigurationProperty
+    private Rendering rendering = new Rendering();
+
+    @NestedConfigurationProperty
+    private Search search = new Search();
+
+    @NestedConfigurationProperty
+    private Examples examples = new Examples();
+
     // Getters and setters
     public boolean isEnabled() {
         return enabled;
@@ -74,6 +87,14 @@ public class DocxProperties {
         this.description = description;
     }
 
+    public boolean isWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(boolean warmup) {
+        this.warmup = warmup;
+    }
+
     public Branding getBranding() {
         return branding;
     }
@@ -98,6 +119,30 @@ public class DocxProperties {
         this.features = features;
     }
 
+    public Rendering getRendering() {
+        return rendering;
+    }
+
+    public void setRendering(Rendering rendering) {
+        this.rendering = rendering;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public void setSearch(Search search) {
+        this.search = search;
+    }
+
+    public Examples getExamples() {
+        return examples;
+    }
+
+    public void setExamples(Examples examples) {
+        this.examples = examples;
+    }
+
     public static class Branding {
         private String title = "My API Documentation";
         private String color = "#3B82F6";
@@ -135,6 +180,8 @@ public class DocxProperties {
         private boolean includeValidation = true;
         private boolean includeExamples = true;
         private boolean includeTestControllers = false;
+        private ControllerScanner.DiscoveryMode discoveryMode = ControllerScanner.DiscoveryMode.CLASSPATH;
+        private String cacheDirectory;
 
         public boolean isAutoDiscover() {
             return autoDiscover;
@@ -183,6 +230,22 @@ public class DocxProperties {
         public void setIncludeTestControllers(boolean includeTestControllers) {
             this.includeTestControllers = includeTestControllers;
         }
+
+        public ControllerScanner.DiscoveryMode getDiscoveryMode() {
+            return discoveryMode;
+        }
+
+        public void setDiscoveryMode(ControllerScanner.DiscoveryMode discoveryMode) {
+            this.discoveryMode = discoveryMode;
+        }
+
+        public String getCacheDirectory() {
+            return cacheDirectory;
+        }
+
+        public void setCacheDirectory(String cacheDirectory) {
+            this.cacheDirectory = cacheDirectory;
+        }
     }
 
     public static class Features {
@@ -232,4 +295,148 @@ public class DocxProperties {
             this.manualResponseDocs = manualResponseDocs;
         }
     }
-}
\ No newline at end of file
+
+    public static class Rendering {
+        private boolean precompress = true;
+        private boolean streaming = false;
+        private boolean chunked = false;
+        private int projectionCacheSize = 32;
+
+        public boolean isPrecompress() {
+            return precompress;
+        }
+
+        public void setPrecompress(boolean precompress) {
+            this.precompress = precompress;
+        }
+
+        public boolean isStreaming() {
+            return streaming;
+        }
+
+        public void setStreaming(boolean streaming) {
+            this.streaming = streaming;
+        }
+
+        public boolean isChunked() {
+            return chunked;
+        }
+
+        public void setChunked(boolean chunked) {
+            this.chunked = chunked;
+        }
+
+        public int getProjectionCacheSize() {
+            return projectionCacheSize;
+        }
+
+        public void setProjectionCacheSize(int projectionCacheSize) {
+            this.projectionCacheSize = projectionCacheSize;
+        }
+    }
+
+    public static class Search {
+        private int defaultPageSize = 20;
+        private int maxResults = 100;
+        private boolean fuzzy = true;
+
+        public int getDefaultPageSize() {
+            return defaultPageSize;
+        }
+
+        public void setDefaultPageSize(int defaultPageSize) {
+            this.defaultPageSize = defaultPageSize;
+        }
+
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public void setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+        }
+
+        public boolean isFuzzy() {
+            return fuzzy;
+        }
+
+        public void setFuzzy(boolean fuzzy) {
+            this.fuzzy = fuzzy;
+        }
+    }
+
+    public static class Examples {
+        private ExampleSampler.Mode samplingMode = ExampleSampler.Mode.ALL;
+        private double sampleRate = 0.1;
+        private double tokensPerSecond = 1.0;
+        private int burst = 10;
+        private int firstN = 10;
+        private int thenOneIn = 100;
+        private int queueCapacity = 1024;
+        private DataSize memoryBudget = DataSize.ofMegabytes(1);
+
+        public ExampleSampler.Mode getSamplingMode() {
+            return samplingMode;
+        }
+
+        public void setSamplingMode(ExampleSampler.Mode samplingMode) {
+            this.samplingMode = samplingMode;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public double getTokensPerSecond() {
+            return tokensPerSecond;
+        }
+
+        public void setTokensPerSecond(double tokensPerSecond) {
+            this.tokensPerSecond = tokensPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getFirstN() {
+            return firstN;
+        }
+
+        public void setFirstN(int firstN) {
+            this.firstN = firstN;
+        }
+
+        public int getThenOneIn() {
+            return thenOneIn;
+        }
+
+        public void setThenOneIn(int thenOneIn) {
+            this.thenOneIn = thenOneIn;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public DataSize getMemoryBudget() {
+            return memoryBudget;
+        }
+
+        public void setMemoryBudget(DataSize memoryBudget) {
+            this.memoryBudget = memoryBudget;
+        }
+    }
+}